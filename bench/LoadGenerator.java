@@ -0,0 +1,146 @@
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator that plays the game with a crowd of bot players
+ * Each player runs on its own virtual thread and plays games back to back, choosing random answers
+ * - Mid-game saves go through AsyncPersistence.saveGameState, as the pause menu's Save Game button does
+ * - Finished games submit their score through GameUtils.addScoreToLeaderboard, as showPostGameScreen does
+ * - Games are played locally by a QuizEngine, or on a quiz server when load.server is set
+ * Scores and saves are written to the working directory's "scores" and "saves" folders, so run it from a
+ * scratch directory:
+ *   javac -d out src/*.java bench/*.java
+ *   cd /tmp/queeze-load && java -cp /path/to/out LoadGenerator
+ * Settings (system properties):
+ * - load.players: concurrent players, default 1000
+ * - load.seconds: length of the run, default 30
+ * - load.saveChance: chance of saving after each answer, default 0.05
+ * - load.thinkMillis: time each player waits before answering, default 0
+ * - load.server: quiz server address ("host:port"), unset to play locally
+ * Throughput and p50/p99/p99.9 latencies are printed for every operation at the end of the run
+ */
+public class LoadGenerator {
+    private static final String[] DIFFICULTIES = {"Easy", "Normal", "Hard"};
+    private static final String[] OPERATIONS = {"answer", "saveGameState", "addScoreToLeaderboard", "game"};
+    private static final int ANSWER = 0;
+    private static final int SAVE = 1;
+    private static final int SUBMIT_SCORE = 2;
+    private static final int GAME = 3;
+
+    private static final int players = Integer.getInteger("load.players", 1000);
+    private static final int seconds = Integer.getInteger("load.seconds", 30);
+    private static final double saveChance = Double.parseDouble(System.getProperty("load.saveChance", "0.05"));
+    private static final long thinkMillis = Long.getLong("load.thinkMillis", 0);
+    private static final String server = System.getProperty("load.server");
+
+    private static final LatencyHistogram[] histograms = new LatencyHistogram[OPERATIONS.length];
+    private static final AtomicLong failures = new AtomicLong();
+    private static volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        System.out.printf("Running %d players for %d s (%s)%n", players, seconds,
+                server == null ? "local engine" : "quiz server at " + server);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < players; i++) {
+            int player = i;
+            executor.submit(() -> play(player));
+        }
+
+        long start = System.nanoTime();
+        long[] lastCounts = new long[OPERATIONS.length];
+        for (int elapsed = 5; elapsed <= seconds; elapsed += 5) {
+            Thread.sleep(Math.max(0, start + TimeUnit.SECONDS.toNanos(elapsed) - System.nanoTime()) / 1_000_000);
+            StringBuilder progress = new StringBuilder(String.format("[%3d s]", elapsed));
+            for (int i = 0; i < OPERATIONS.length; i++) {
+                long count = histograms[i].getCount();
+                progress.append(String.format(Locale.ROOT, "  %s %.0f/s", OPERATIONS[i], (count - lastCounts[i]) / 5.0));
+                lastCounts[i] = count;
+            }
+            System.out.println(progress);
+        }
+        Thread.sleep(Math.max(0, start + TimeUnit.SECONDS.toNanos(seconds) - System.nanoTime()) / 1_000_000);
+        running = false;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%n%-24s %10s %10s %10s %10s %10s %10s %10s%n",
+                "Operation", "Count", "Ops/s", "Mean us", "p50 us", "p99 us", "p99.9 us", "Max us");
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            LatencyHistogram histogram = histograms[i];
+            System.out.printf(Locale.ROOT, "%-24s %10d %10.0f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    OPERATIONS[i], histogram.getCount(), histogram.getCount() / elapsedSeconds,
+                    histogram.getMean() / 1e3, histogram.getValueAtPercentile(50) / 1e3,
+                    histogram.getValueAtPercentile(99) / 1e3, histogram.getValueAtPercentile(99.9) / 1e3,
+                    histogram.getMax() / 1e3);
+        }
+        System.out.println("Failures: " + failures.get());
+    }
+
+    /**
+     * Plays games back to back until the run ends
+     *
+     * @param player - Player number, used for the username and random seed
+     */
+    private static void play(int player) {
+        SplittableRandom random = new SplittableRandom(player);
+        String username = "bot" + player;
+        QuizClient client = null;
+        try {
+            while (running) {
+                String difficulty = DIFFICULTIES[random.nextInt(DIFFICULTIES.length)];
+                QuizSession session = GameModes.create(difficulty, username).engine;
+                if (server != null) {
+                    if (client != null) {
+                        client.close();
+                    }
+                    client = new QuizClient(QuizClient.parseAddress(server), username, difficulty);
+                    session = client;
+                }
+
+                long gameStart = System.nanoTime();
+                session.start();
+                while (running && session.getStatus() == QuizEngine.Status.PLAYING) {
+                    if (thinkMillis > 0) {
+                        Thread.sleep(thinkMillis);
+                    }
+                    QuestionBank.Question question = session.currentQuestion();
+                    long start = System.nanoTime();
+                    session.answer(random.nextInt(question.getOptions().length));
+                    histograms[ANSWER].recordSince(start);
+
+                    if (random.nextDouble() < saveChance) {
+                        start = System.nanoTime();
+                        AsyncPersistence.saveGameState(username, difficulty, 0, session.snapshot().toGameState()).join();
+                        histograms[SAVE].recordSince(start);
+                    }
+                }
+                if (!running) {
+                    break;
+                }
+
+                long start = System.nanoTime();
+                GameUtils.addScoreToLeaderboard(difficulty, username, session.getScore()).join();
+                histograms[SUBMIT_SCORE].recordSince(start);
+                histograms[GAME].recordSince(gameStart);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            e.printStackTrace();
+        } finally {
+            if (client != null) {
+                client.close();
+            }
+        }
+    }
+}
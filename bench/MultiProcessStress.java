@@ -0,0 +1,204 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Multi-process stress test for Queeze instances sharing the "scores" and "saves" folders
+ * Starts several worker processes against the same files, each writing as fast as it can for a fixed time:
+ * - A save to one of its own players' save slots, so every process takes and rewrites slots in one shared table
+ * - A score for a player all processes submit scores for, so every process appends to one shared score log
+ * - A checkpoint for one of its own players, so every process appends to one shared checkpoint log
+ * Afterwards the files are reopened and every save, best score and latest checkpoint is checked against what the
+ * workers wrote, so any update lost to a race between processes is counted
+ * The files are written under a throwaway difficulty name ("Stress") in the working directory's "scores" and
+ * "saves" folders and deleted after each round, so run it from a scratch directory:
+ *   javac -d out src/*.java bench/*.java
+ *   cd /tmp/queeze-stress && java -cp /path/to/out MultiProcessStress
+ * Settings (system properties):
+ * - stress.processes: comma-separated worker process counts, one round each, default 1,2,4
+ * - stress.seconds: length of each round, default 10
+ * - stress.players: players per worker, default 2000
+ * - stress.backend: storage backend (see Persistence), default binary
+ * Write throughput across all workers, and how long workers waited for each other's locks, are printed per round
+ */
+public class MultiProcessStress {
+    private static final String DIFFICULTY = "Stress";
+
+    private static final int seconds = Integer.getInteger("stress.seconds", 10);
+    private static final int players = Integer.getInteger("stress.players", 2000);
+    private static final String backend = System.getProperty("stress.backend", "binary");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("worker")) {
+            work(Integer.parseInt(args[1]));
+            return;
+        }
+        System.out.printf("Running rounds of %d s with %d players per worker (%s backend)%n", seconds, players, backend);
+        System.out.printf("%n%-10s %12s %12s %16s %14s %14s %8s%n",
+                "Processes", "Iterations", "Writes/s", "Writes/s/proc", "Lock waits", "Mean wait us", "Lost");
+        for (String processes : System.getProperty("stress.processes", "1,2,4").split(",")) {
+            try {
+                round(Integer.parseInt(processes.trim()));
+            } finally {
+                deleteFiles();
+            }
+        }
+    }
+
+    /**
+     * Runs one round with the given number of worker processes, then checks the files they wrote
+     *
+     * @param processes - Number of worker processes
+     */
+    private static void round(int processes) throws Exception {
+        List<Process> workers = new ArrayList<>();
+        for (int worker = 0; worker < processes; worker++) {
+            workers.add(new ProcessBuilder(new File(System.getProperty("java.home"), "bin/java").getPath(),
+                    "-cp", System.getProperty("java.class.path"),
+                    "-Dqueeze.persistence=" + backend,
+                    "-Dstress.seconds=" + seconds,
+                    "-Dstress.players=" + players,
+                    MultiProcessStress.class.getName(), "worker", String.valueOf(worker))
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start());
+        }
+
+        long[] iterations = new long[processes];
+        long lockWaits = 0;
+        double lockWaitNanos = 0;
+        double elapsedSeconds = 0;
+        try {
+            for (int worker = 0; worker < processes; worker++) {
+                Process process = workers.get(worker);
+                String line;
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    line = reader.readLine();
+                }
+                int exitCode = process.waitFor();
+                if (line == null || exitCode != 0) {
+                    throw new IllegalStateException("Worker " + worker + " failed with exit code " + exitCode);
+                }
+                // Each worker reports "iterations elapsedNanos lockWaits meanLockWaitNanos"
+                String[] report = line.split(" ");
+                iterations[worker] = Long.parseLong(report[0]);
+                elapsedSeconds = Math.max(elapsedSeconds, Long.parseLong(report[1]) / 1e9);
+                long waits = Long.parseLong(report[2]);
+                lockWaits += waits;
+                lockWaitNanos += waits * Double.parseDouble(report[3]);
+            }
+        } finally {
+            // Workers still running after one has failed would otherwise outlive the round
+            for (Process process : workers) {
+                process.destroy();
+            }
+        }
+
+        long total = Arrays.stream(iterations).sum();
+        double writesPerSecond = 3 * total / elapsedSeconds;
+        System.out.printf(Locale.ROOT, "%-10d %12d %12.0f %16.0f %14d %14.1f %8d%n", processes, total,
+                writesPerSecond, writesPerSecond / processes, lockWaits,
+                lockWaits == 0 ? 0 : lockWaitNanos / lockWaits / 1e3, countLostUpdates(iterations));
+    }
+
+    /**
+     * Writes saves, scores and checkpoints until the round ends, then reports how many iterations it managed
+     *
+     * @param worker - Worker number, used in its players' usernames
+     */
+    private static void work(int worker) throws Exception {
+        ScoreRepository leaderboard = Persistence.scores(DIFFICULTY);
+        SaveRepository saves = Persistence.saves(DIFFICULTY);
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        int i = 0;
+        while (System.nanoTime() < end) {
+            GameUtils.GameState gameState = gameState(i);
+            saves.save(player(worker, i), saveSlot(i), gameState);
+            leaderboard.submit(sharedPlayer(i), i);
+            saves.checkpoint(player(worker, i), gameState);
+            i++;
+        }
+        leaderboard.flush();
+        long elapsed = System.nanoTime() - start;
+        LatencyHistogram lockWait = Metrics.timer("lock.wait");
+        System.out.println(i + " " + elapsed + " " + lockWait.getCount() + " " + lockWait.getMean());
+    }
+
+    /**
+     * Reopens the round's files and checks them against the last write each worker made to every key
+     *
+     * @param iterations - Number of iterations each worker ran
+     * @return the number of saves, scores and checkpoints that do not hold their last written value
+     */
+    private static int countLostUpdates(long[] iterations) throws IOException {
+        Persistence.Backend storage = Persistence.Backend.forName(backend);
+        ScoreRepository leaderboard = storage.createScores(DIFFICULTY);
+        SaveRepository saves = storage.createSaves(DIFFICULTY);
+
+        Map<String, Integer> bestScores = new HashMap<>();
+        Map<String, GameUtils.GameState> lastCheckpoints = new HashMap<>();
+        int lost = 0;
+        for (int worker = 0; worker < iterations.length; worker++) {
+            // Every save slot, shared player and player is last written within this many iterations
+            long first = Math.max(0, iterations[worker] - (long) players * SaveRepository.SAVE_SLOTS);
+            for (int i = (int) first; i < iterations[worker]; i++) {
+                String player = player(worker, i);
+                GameUtils.GameState expected = gameState(i);
+                if (!matches(saves.load(player, saveSlot(i)), expected)) {
+                    lost++;
+                }
+                bestScores.merge(sharedPlayer(i), i, Math::max);
+                lastCheckpoints.put(player, expected);
+            }
+        }
+        for (Map.Entry<String, Integer> entry : bestScores.entrySet()) {
+            GameUtils.PlayerScore playerScore = leaderboard.getScore(entry.getKey());
+            if (playerScore == null || playerScore.getScore() != entry.getValue()) {
+                lost++;
+            }
+        }
+        for (Map.Entry<String, GameUtils.GameState> entry : lastCheckpoints.entrySet()) {
+            List<GameUtils.GameState> history = saves.history(entry.getKey());
+            if (history.isEmpty() || !matches(history.get(0), entry.getValue())) {
+                lost++;
+            }
+        }
+        return lost;
+    }
+
+    private static boolean matches(GameUtils.GameState actual, GameUtils.GameState expected) {
+        return actual != null && actual.getScore() == expected.getScore() && actual.getLives() == expected.getLives()
+                && actual.getQuestionIndex() == expected.getQuestionIndex();
+    }
+
+    private static String player(int worker, int i) {
+        return "worker" + worker + "-player" + (i % players);
+    }
+
+    private static String sharedPlayer(int i) {
+        return "shared" + (i % players);
+    }
+
+    private static int saveSlot(int i) {
+        return (i / players) % SaveRepository.SAVE_SLOTS;
+    }
+
+    private static GameUtils.GameState gameState(int i) {
+        return new GameUtils.GameState(i, 1 + i % 3, i % 15);
+    }
+
+    private static void deleteFiles() {
+        String prefix = DIFFICULTY.toLowerCase() + " mode ";
+        for (String directory : new String[]{"scores", "saves"}) {
+            File[] files = new File(directory).listFiles((dir, name) -> name.startsWith(prefix));
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Micro-benchmarks for the persistence and gameplay hot paths
+ * Each persistence benchmark runs against every storage backend (see Persistence) side by side, with datasets
+ * of 1k, 100k and 1M users generated under a throwaway difficulty name ("Bench binary 1000" etc.) in the working
+ * directory's "scores" and "saves" folders and deleted afterwards, so run it from a scratch directory:
+ *   javac -d out src/*.java bench/*.java
+ *   cd /tmp/queeze-bench && java -cp /path/to/out QueezeBenchmark
+ * Settings (system properties):
+ * - bench.sizes: comma-separated user counts, default 1000,100000,1000000
+ * - bench.backends: comma-separated storage backends, default binary,text,memory
+ * - bench.warmup / bench.iterations: warmup and measured iterations, default 5 and 10
+ * - bench.millis: length of each iteration in milliseconds, default 200
+ * Results are printed as the mean time per operation with its standard deviation across iterations
+ */
+public class QueezeBenchmark {
+    private static final int[] DEFAULT_SIZES = {1_000, 100_000, 1_000_000};
+    private static final int MAX_SCORE = 15;
+
+    private static final int warmupIterations = Integer.getInteger("bench.warmup", 5);
+    private static final int measuredIterations = Integer.getInteger("bench.iterations", 10);
+    private static final long iterationNanos = Long.getLong("bench.millis", 200) * 1_000_000L;
+
+    // Results are written here so the JIT cannot discard the benchmarked work
+    private static volatile Object sink;
+
+    /**
+     * A benchmarked operation, given a running operation counter to pick its input
+     */
+    @FunctionalInterface
+    private interface Operation {
+        void run(int i) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = parseSizes(System.getProperty("bench.sizes"));
+        List<Persistence.Backend> backends = new ArrayList<>();
+        for (String name : System.getProperty("bench.backends", "binary,text,memory").split(",")) {
+            backends.add(Persistence.Backend.forName(name));
+        }
+        System.out.printf("%-48s %10s %14s %12s%n", "Benchmark", "Users", "ns/op", "Error");
+
+        benchmarkGameplay();
+        for (int size : sizes) {
+            for (Persistence.Backend backend : backends) {
+                String difficulty = "Bench " + backend.name().toLowerCase() + " " + size;
+                try {
+                    generateScores(difficulty, size);
+                    generateSaves(difficulty, size);
+                    benchmarkLeaderboard(backend, difficulty, size);
+                    benchmarkSaves(backend, difficulty, size);
+                } finally {
+                    deleteFiles(difficulty);
+                }
+            }
+        }
+    }
+
+    private static void deleteFiles(String difficulty) {
+        String prefix = difficulty.toLowerCase() + " mode ";
+        for (String directory : new String[]{"scores", "saves"}) {
+            File[] files = new File(directory).listFiles((dir, name) -> name.startsWith(prefix));
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    private static int[] parseSizes(String property) {
+        if (property == null || property.isBlank()) {
+            return DEFAULT_SIZES;
+        }
+        String[] parts = property.split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = Integer.parseInt(parts[i].trim());
+        }
+        return sizes;
+    }
+
+    private static String username(int i) {
+        return "player" + i;
+    }
+
+    //Dataset Generation//
+
+    /**
+     * Writes a text score log with one line per user, which the file backends replay or import
+     *
+     * @param difficulty - Throwaway difficulty name
+     * @param size - Number of users
+     */
+    private static void generateScores(String difficulty, int size) throws IOException {
+        File scoresFile = Persistence.file("scores", difficulty, "scores.txt");
+        scoresFile.getParentFile().mkdirs();
+        SplittableRandom random = new SplittableRandom(size);
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(scoresFile), StandardCharsets.UTF_8))) {
+            for (int i = 0; i < size; i++) {
+                writer.write(username(i) + ":" + random.nextInt(MAX_SCORE));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Writes a text save file with one save per user, which the file backends read or import
+     *
+     * @param difficulty - Throwaway difficulty name
+     * @param size - Number of users
+     */
+    private static void generateSaves(String difficulty, int size) throws IOException {
+        File savesFile = Persistence.file("saves", difficulty, "saves.txt");
+        savesFile.getParentFile().mkdirs();
+        SplittableRandom random = new SplittableRandom(size);
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(savesFile), StandardCharsets.UTF_8))) {
+            for (int i = 0; i < size; i++) {
+                writer.write(username(i) + ":" + random.nextInt(MAX_SCORE) + ":" + (1 + random.nextInt(3)) + ":"
+                        + random.nextInt(MAX_SCORE));
+                writer.newLine();
+            }
+        }
+    }
+
+    //Benchmarks//
+
+    private static void benchmarkLeaderboard(Persistence.Backend backend, String difficulty, int size) throws Exception {
+        String prefix = "[" + backend.name().toLowerCase() + "] ";
+        long start = System.nanoTime();
+        ScoreRepository leaderboard = backend.createScores(difficulty);
+        report(prefix + "createScores (replay)", size, System.nanoTime() - start, 0);
+        // The memory backend starts empty, so it is filled with the same users
+        for (int i = leaderboard.size(); i < size; i++) {
+            leaderboard.submit(username(i), i % MAX_SCORE);
+        }
+
+        // Every submission beats the player's previous best, so each one is appended to the log
+        int[] nextScore = {MAX_SCORE};
+        run(prefix + "addScoreToLeaderboard", size,
+                i -> sink = leaderboard.submit(username(i % size), nextScore[0]++));
+        leaderboard.flush();
+        run(prefix + "getPlayerScore (all scores)", size, i -> sink = leaderboard.getScores());
+        run(prefix + "getPlayerScore (top 100)", size, i -> sink = leaderboard.getTopScores(0, 100));
+        run(prefix + "getScore", size, i -> sink = leaderboard.getScore(username(i % size)));
+    }
+
+    private static void benchmarkSaves(Persistence.Backend backend, String difficulty, int size) throws Exception {
+        String prefix = "[" + backend.name().toLowerCase() + "] ";
+        long start = System.nanoTime();
+        SaveRepository saves = backend.createSaves(difficulty);
+        report(prefix + "createSaves (import or read)", size, System.nanoTime() - start, 0);
+        if (saves.load(username(0), 0) == null) {
+            for (int i = 0; i < size; i++) {
+                saves.save(username(i), 0, new GameUtils.GameState(i % MAX_SCORE, 3, i % MAX_SCORE));
+            }
+        }
+
+        run(prefix + "loadGameState (lookup)", size, i -> sink = saves.load(username(i % size), 0));
+        run(prefix + "saveGameState (rewrite)", size,
+                i -> saves.save(username(i % size), 0, new GameUtils.GameState(i % MAX_SCORE, 3, i % MAX_SCORE)));
+        run(prefix + "loadGameState (miss)", size, i -> sink = saves.load("missing" + i, 0));
+        run(prefix + "listGameStates (all save slots)", size, i -> sink = saves.list(username(i % size)));
+        run(prefix + "checkpoint (delta append)", size,
+                i -> saves.checkpoint(username(i % size), new GameUtils.GameState(i % MAX_SCORE, 3, i % MAX_SCORE)));
+    }
+
+    private static void benchmarkGameplay() throws Exception {
+        QuizSession engine = new GameModes.HardMode("bench").engine;
+        run("QuizEngine.answer", 0, i -> {
+            if (engine.getStatus() != QuizEngine.Status.PLAYING) {
+                engine.start();
+            }
+            sink = engine.answer(i & 3);
+        });
+        run("QuizEngine.answer + loadNextQuestion", 0, i -> {
+            if (engine.getStatus() != QuizEngine.Status.PLAYING) {
+                engine.start();
+            }
+            // Mirrors Base.loadNextQuestion, which decodes the question and its options for display
+            QuestionBank.Question question = engine.currentQuestion();
+            sink = question.getOptions();
+            sink = engine.answer(i & 3);
+        });
+    }
+
+    //Harness//
+
+    /**
+     * Runs warmup iterations, then measured iterations, and prints the mean time per operation
+     *
+     * @param name - Benchmark name
+     * @param size - Dataset size, or 0 if the benchmark has no dataset
+     * @param operation - Operation to time
+     */
+    private static void run(String name, int size, Operation operation) throws Exception {
+        int counter = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            counter = iterate(operation, counter, null);
+        }
+        double[] nanosPerOp = new double[measuredIterations];
+        for (int i = 0; i < measuredIterations; i++) {
+            long[] result = new long[2];
+            counter = iterate(operation, counter, result);
+            nanosPerOp[i] = (double) result[0] / result[1];
+        }
+
+        double mean = 0;
+        for (double value : nanosPerOp) {
+            mean += value;
+        }
+        mean /= nanosPerOp.length;
+        double variance = 0;
+        for (double value : nanosPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double error = nanosPerOp.length > 1 ? Math.sqrt(variance / (nanosPerOp.length - 1)) : 0;
+        report(name, size, mean, error);
+    }
+
+    /**
+     * Runs an operation repeatedly for one iteration's length
+     *
+     * @param operation - Operation to time
+     * @param counter - Operation counter to continue from
+     * @param result - Receives elapsed nanoseconds and operation count, or null for warmup
+     * @return the operation counter after the iteration
+     */
+    private static int iterate(Operation operation, int counter, long[] result) throws Exception {
+        long start = System.nanoTime();
+        long elapsed;
+        int operations = 0;
+        do {
+            // Time checks are batched so System.nanoTime does not dominate fast operations
+            for (int i = 0; i < 64; i++) {
+                operation.run(counter++ & Integer.MAX_VALUE);
+            }
+            operations += 64;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+
+        if (result != null) {
+            result[0] = elapsed;
+            result[1] = operations;
+        }
+        return counter;
+    }
+
+    private static void report(String name, int size, double nanosPerOp, double error) {
+        System.out.printf(Locale.ROOT, "%-48s %10s %14.1f %12s%n", name, size == 0 ? "-" : String.valueOf(size),
+                nanosPerOp, error == 0 ? "" : String.format(Locale.ROOT, "+- %.1f", error));
+    }
+}
@@ -0,0 +1,221 @@
+import javax.swing.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous access to leaderboards and save stores, through the repositories of the configured Persistence backend
+ * All file I/O runs in submission order on a single background thread, so the Event Dispatch Thread never waits on disk
+ * The thread is a virtual thread when the "queeze.virtualThreads" system property is set to true
+ * Results are handed back to Swing code through the EDT executor, e.g. future.thenAcceptAsync(..., AsyncPersistence.EDT)
+ * Pending writes are drained by a shutdown hook before the application exits
+ * Each operation's I/O time is recorded in Metrics, along with how long tasks wait in the queue
+ */
+public class AsyncPersistence {
+    protected static final Executor EDT = SwingUtilities::invokeLater;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(createThreadFactory());
+
+    private static final LatencyHistogram queueWaitTimer = Metrics.timer("persistence.queue.wait");
+    private static final LongAdder errorCounter = Metrics.counter("persistence.errors");
+    private static final LatencyHistogram leaderboardLoadTimer = Metrics.timer("leaderboard.load");
+    private static final LatencyHistogram leaderboardSubmitTimer = Metrics.timer("leaderboard.submit");
+    private static final LatencyHistogram leaderboardScoresTimer = Metrics.timer("leaderboard.scores");
+    private static final LatencyHistogram saveWriteTimer = Metrics.timer("save.write");
+    private static final LatencyHistogram saveDeleteTimer = Metrics.timer("save.delete");
+    private static final LatencyHistogram saveLoadTimer = Metrics.timer("save.load");
+    private static final LatencyHistogram saveListTimer = Metrics.timer("save.list");
+    private static final LatencyHistogram checkpointWriteTimer = Metrics.timer("checkpoint.write");
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncPersistence::drain, "queeze-persistence-shutdown"));
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        if (Boolean.getBoolean("queeze.virtualThreads")) {
+            return Thread.ofVirtual().name("queeze-persistence").factory();
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, "queeze-persistence");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Waits for queued reads and writes to finish, used when the application exits
+     */
+    private static void drain() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.out.println("Timed out waiting for pending saves and scores to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs an I/O task on the persistence thread
+     *
+     * @param timer - Timer recording how long the task runs
+     * @param task - Task to run
+     * @return future completed with the task's result
+     */
+    private static <T> CompletableFuture<T> submit(LatencyHistogram timer, IOTask<T> task) {
+        return CompletableFuture.supplyAsync(timed(timer, task), executor);
+    }
+
+    private static <T> Supplier<T> timed(LatencyHistogram timer, IOTask<T> task) {
+        long submitted = System.nanoTime();
+        return () -> {
+            long start = System.nanoTime();
+            queueWaitTimer.record(start - submitted);
+            try {
+                return task.run();
+            } catch (IOException e) {
+                errorCounter.increment();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                errorCounter.increment();
+                throw e;
+            } finally {
+                timer.recordSince(start);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface IOTask<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Gets a difficulty's leaderboard, replaying its score log if it has not been loaded yet and otherwise picking
+     * up scores other instances have written since
+     *
+     * @param difficulty - Game difficulty level
+     * @return future completed with the leaderboard
+     */
+    protected static CompletableFuture<ScoreRepository> loadLeaderboard(String difficulty) {
+        return submit(leaderboardLoadTimer, () -> {
+            ScoreRepository leaderboard = Persistence.scores(difficulty);
+            leaderboard.refresh();
+            return leaderboard;
+        });
+    }
+
+    /**
+     * Submits a finished game's score to a difficulty's leaderboard
+     *
+     * @param difficulty - Game difficulty level
+     * @param username - Player's username
+     * @param score - Player's final score
+     * @return future completed with true if the player's best score changed
+     */
+    protected static CompletableFuture<Boolean> addScoreToLeaderboard(String difficulty, String username, int score) {
+        return submit(leaderboardSubmitTimer, () -> Persistence.scores(difficulty).submit(username, score));
+    }
+
+    /**
+     * Gets a difficulty's scores in descending order
+     *
+     * @param difficulty - Game difficulty level
+     * @return future completed with the sorted scores
+     */
+    protected static CompletableFuture<List<GameUtils.PlayerScore>> getPlayerScore(String difficulty) {
+        return submit(leaderboardScoresTimer, () -> {
+            ScoreRepository leaderboard = Persistence.scores(difficulty);
+            leaderboard.refresh();
+            return leaderboard.getScores();
+        });
+    }
+
+    /**
+     * Saves a player's game state to a save slot, replacing the save slot's previous save
+     *
+     * @param username - Player's username
+     * @param difficulty - Game difficulty level
+     * @param saveSlot - Save slot to write
+     * @param gameState - Game state to save
+     * @return future completed once the save is written
+     */
+    protected static CompletableFuture<Void> saveGameState(String username, String difficulty, int saveSlot,
+                                                           GameUtils.GameState gameState) {
+        return submit(saveWriteTimer, () -> {
+            Persistence.saves(difficulty).save(username, saveSlot, gameState);
+            return null;
+        });
+    }
+
+    /**
+     * Deletes one of a player's save slots
+     *
+     * @param username - Player's username
+     * @param difficulty - Game difficulty level
+     * @param saveSlot - Save slot to delete
+     * @return future completed with true if a save was deleted
+     */
+    protected static CompletableFuture<Boolean> deleteGameState(String username, String difficulty, int saveSlot) {
+        return submit(saveDeleteTimer, () -> Persistence.saves(difficulty).delete(username, saveSlot));
+    }
+
+    /**
+     * Loads one of a player's save slots
+     *
+     * @param username - Player's username
+     * @param difficulty - Game difficulty level
+     * @param saveSlot - Save slot to load
+     * @return future completed with the saved game state, or null if the save slot is empty
+     */
+    protected static CompletableFuture<GameUtils.GameState> loadGameState(String username, String difficulty, int saveSlot) {
+        return submit(saveLoadTimer, () -> Persistence.saves(difficulty).load(username, saveSlot));
+    }
+
+    /**
+     * Lists a player's saves and recent checkpoints
+     *
+     * @param username - Player's username
+     * @param difficulty - Game difficulty level
+     * @return future completed with the player's saves
+     */
+    protected static CompletableFuture<GameUtils.SaveList> listGameStates(String username, String difficulty) {
+        return submit(saveListTimer, () -> {
+            SaveRepository saves = Persistence.saves(difficulty);
+            return new GameUtils.SaveList(saves.list(username), saves.history(username));
+        });
+    }
+
+    /**
+     * Appends a checkpoint to a player's automatic save history
+     *
+     * @param username - Player's username
+     * @param difficulty - Game difficulty level
+     * @param gameState - Game state to checkpoint
+     * @return future completed once the checkpoint is written
+     */
+    protected static CompletableFuture<Void> checkpoint(String username, String difficulty, GameUtils.GameState gameState) {
+        return submit(checkpointWriteTimer, () -> {
+            Persistence.saves(difficulty).checkpoint(username, gameState);
+            return null;
+        });
+    }
+
+    /**
+     * Drops a player's automatic save history, e.g. once their game is over
+     *
+     * @param username - Player's username
+     * @param difficulty - Game difficulty level
+     * @return future completed once the history is dropped
+     */
+    protected static CompletableFuture<Void> clearCheckpoints(String username, String difficulty) {
+        return submit(checkpointWriteTimer, () -> {
+            Persistence.saves(difficulty).clearHistory(username);
+            return null;
+        });
+    }
+}
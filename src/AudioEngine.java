@@ -0,0 +1,446 @@
+import javax.sound.sampled.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audio engine for background music and sound effects
+ * Music is decoded in small chunks on a dedicated audio thread and fed to a single SourceDataLine, whose buffer
+ * holds about 25 ms of audio, instead of decoding whole files into Clips on the Event Dispatch Thread
+ * - Pausing stops pulling from the decoder, so resuming continues where it left off without re-decoding
+ * - Tracks loop by reopening the stream in the middle of a chunk, so there is no gap at the loop point
+ * - Playing a different track while one is playing crossfades between them
+ * Sound effects are decoded once into PCM buffers by loadEffects and mixed over the music by the same thread
+ * Sound effects are optional: none ship with the game, and an effect whose file is not in assets/sfx stays silent
+ * The public methods only post commands to the audio thread and return immediately
+ */
+public class AudioEngine {
+    protected static final AudioFormat FORMAT = new AudioFormat(44100, 16, 2, true, false);
+    protected static final int CHUNK_FRAMES = 256;
+    protected static final int LINE_BUFFER_CHUNKS = 4;
+    protected static final int CROSSFADE_MILLIS = 1500;
+    protected static final int MAX_VOICES = 8;
+
+    /**
+     * Short sound effects played over the music, each silent unless its file has been added
+     */
+    protected enum SoundEffect {
+        CORRECT("assets//sfx//correct.wav"),
+        WRONG("assets//sfx//wrong.wav"),
+        GAME_OVER("assets//sfx//game over.wav"),
+        WIN("assets//sfx//win.wav");
+
+        final String filePath;
+        // Number of times the effect was fired since the audio thread last looked
+        final AtomicInteger pendingTriggers = new AtomicInteger();
+        // Decoded samples in the engine's output format, null until loaded or if the file is absent
+        volatile short[] samples;
+
+        SoundEffect(String filePath) {
+            this.filePath = filePath;
+        }
+    }
+
+    private static final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private static volatile Thread audioThread;
+
+    // Requested music state, updated immediately so the UI can reflect it before the audio thread catches up
+    private static volatile String requestedTrack;
+    private static volatile boolean musicPaused;
+
+    // Audio thread state
+    private static SourceDataLine line;
+    private static MusicTrack currentTrack;
+    private static MusicTrack fadingTrack;
+    private static boolean linePaused;
+    private static final int[] mixBuffer = new int[CHUNK_FRAMES * 2];
+    private static final short[][] voiceSamples = new short[MAX_VOICES][];
+    private static final int[] voicePositions = new int[MAX_VOICES];
+    private static final byte[] outputBuffer = new byte[CHUNK_FRAMES * 4];
+
+    /**
+     * Plays a music track in a continuous loop, crossfading from the track currently playing
+     * Does nothing if the track is already playing
+     *
+     * @param filePath - path to audio file
+     * @return false if the file does not exist
+     */
+    protected static synchronized boolean playMusic(String filePath) {
+        if (!new File(filePath).exists()) {
+            System.out.println("Background music file not found: " + filePath);
+            return false;
+        }
+        requestedTrack = filePath;
+        musicPaused = false;
+        post(() -> startTrack(filePath));
+        return true;
+    }
+
+    /**
+     * Pauses the music while keeping its position
+     */
+    protected static synchronized void pauseMusic() {
+        if (requestedTrack != null && !musicPaused) {
+            musicPaused = true;
+            post(() -> linePaused = true);
+        }
+    }
+
+    /**
+     * Resumes paused music from where it was paused
+     */
+    protected static synchronized void resumeMusic() {
+        if (requestedTrack != null && musicPaused) {
+            musicPaused = false;
+            post(() -> linePaused = false);
+        }
+    }
+
+    /**
+     * Stops the music and releases its decoders
+     */
+    protected static synchronized void stopMusic() {
+        if (requestedTrack != null) {
+            requestedTrack = null;
+            musicPaused = false;
+            post(AudioEngine::stopTracks);
+        }
+    }
+
+    /**
+     * Checks whether a track has been started and not stopped, whether or not it is paused
+     *
+     * @return true if music is loaded
+     */
+    protected static boolean isMusicLoaded() {
+        return requestedTrack != null;
+    }
+
+    /**
+     * Checks whether music is currently audible
+     *
+     * @return true if music is loaded and not paused
+     */
+    protected static boolean isMusicPlaying() {
+        return requestedTrack != null && !musicPaused;
+    }
+
+    /**
+     * Decodes every sound effect that has a file on the audio thread, so later effects start without touching the
+     * disk
+     * Effects without a file are skipped, and the audio thread is not started if no effect has one
+     * Called once at startup
+     */
+    protected static synchronized void loadEffects() {
+        SoundEffect[] present = Arrays.stream(SoundEffect.values())
+                .filter(effect -> new File(effect.filePath).exists())
+                .toArray(SoundEffect[]::new);
+        if (present.length == 0) {
+            return;
+        }
+        post(() -> {
+            for (SoundEffect effect : present) {
+                try (AudioInputStream stream = openConverted(effect.filePath)) {
+                    byte[] bytes = stream.readAllBytes();
+                    short[] samples = new short[bytes.length / 2];
+                    for (int i = 0; i < samples.length; i++) {
+                        samples[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+                    }
+                    effect.samples = samples;
+                } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    /**
+     * Plays a sound effect over the music
+     * Safe to call from the Event Dispatch Thread: it only bumps a counter and wakes the audio thread,
+     * so it never blocks or allocates
+     *
+     * @param effect - Effect to play
+     */
+    protected static void playEffect(SoundEffect effect) {
+        Thread thread = audioThread;
+        if (thread != null && effect.samples != null) {
+            effect.pendingTriggers.incrementAndGet();
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Queues a command for the audio thread, starting the thread on first use
+     */
+    private static void post(Runnable command) {
+        commands.add(command);
+        if (audioThread == null) {
+            audioThread = new Thread(AudioEngine::run, "queeze-audio");
+            audioThread.setDaemon(true);
+            audioThread.setPriority(Thread.MAX_PRIORITY);
+            audioThread.start();
+        } else {
+            LockSupport.unpark(audioThread);
+        }
+    }
+
+
+    //AUDIO THREAD//
+
+    private static void run() {
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, CHUNK_FRAMES * 4 * LINE_BUFFER_CHUNKS);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.out.println("Audio output unavailable, music is disabled: " + e.getMessage());
+            line = null;
+        }
+
+        while (true) {
+            Runnable command;
+            while ((command = commands.poll()) != null) {
+                command.run();
+            }
+
+            startTriggeredVoices();
+            if (line == null || !isAudible()) {
+                if (line != null && line.isRunning()) {
+                    line.stop();
+                }
+                LockSupport.park();
+                continue;
+            }
+
+            if (!line.isRunning()) {
+                line.start();
+            }
+            mixChunk();
+            // Blocks once the line's buffer is full, which paces the loop to the playback rate
+            line.write(outputBuffer, 0, outputBuffer.length);
+        }
+    }
+
+    private static boolean isAudible() {
+        return isMusicAudible() || hasActiveVoices();
+    }
+
+    private static boolean isMusicAudible() {
+        return !linePaused && (currentTrack != null || fadingTrack != null);
+    }
+
+    private static boolean hasActiveVoices() {
+        for (short[] samples : voiceSamples) {
+            if (samples != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts a voice for every effect fired since the last chunk, replacing the oldest voice when all are busy
+     */
+    private static void startTriggeredVoices() {
+        for (SoundEffect effect : SoundEffect.values()) {
+            int triggers = Math.min(effect.pendingTriggers.getAndSet(0), MAX_VOICES);
+            short[] samples = effect.samples;
+            for (int t = 0; t < triggers && samples != null; t++) {
+                int voice = 0;
+                for (int i = 0; i < MAX_VOICES; i++) {
+                    if (voiceSamples[i] == null) {
+                        voice = i;
+                        break;
+                    }
+                    if (voicePositions[i] > voicePositions[voice]) {
+                        voice = i;
+                    }
+                }
+                voiceSamples[voice] = samples;
+                voicePositions[voice] = 0;
+            }
+        }
+    }
+
+    /**
+     * Mixes the next chunk of every playing track and sound effect into the output buffer
+     */
+    private static void mixChunk() {
+        Arrays.fill(mixBuffer, 0);
+
+        if (isMusicAudible()) {
+            if (currentTrack != null && !currentTrack.mixInto(mixBuffer)) {
+                currentTrack.close();
+                currentTrack = null;
+            }
+            if (fadingTrack != null && (!fadingTrack.mixInto(mixBuffer) || fadingTrack.isSilent())) {
+                fadingTrack.close();
+                fadingTrack = null;
+            }
+        }
+
+        for (int voice = 0; voice < MAX_VOICES; voice++) {
+            short[] samples = voiceSamples[voice];
+            if (samples == null) {
+                continue;
+            }
+            int position = voicePositions[voice];
+            int count = Math.min(mixBuffer.length, samples.length - position);
+            for (int i = 0; i < count; i++) {
+                mixBuffer[i] += samples[position + i];
+            }
+            voicePositions[voice] = position + count;
+            if (position + count >= samples.length) {
+                voiceSamples[voice] = null;
+            }
+        }
+
+        for (int i = 0; i < mixBuffer.length; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mixBuffer[i]));
+            outputBuffer[2 * i] = (byte) sample;
+            outputBuffer[2 * i + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    private static void startTrack(String filePath) {
+        linePaused = false;
+        if (currentTrack != null && currentTrack.filePath.equals(filePath)) {
+            return;
+        }
+        MusicTrack track;
+        try {
+            track = new MusicTrack(filePath);
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        if (currentTrack != null) {
+            if (fadingTrack != null) {
+                fadingTrack.close();
+            }
+            fadingTrack = currentTrack;
+            fadingTrack.fadeTo(0);
+            track.setGain(0);
+            track.fadeTo(1);
+        }
+        currentTrack = track;
+    }
+
+    private static void stopTracks() {
+        if (currentTrack != null) {
+            currentTrack.close();
+            currentTrack = null;
+        }
+        if (fadingTrack != null) {
+            fadingTrack.close();
+            fadingTrack = null;
+        }
+        linePaused = false;
+        // Sound effects still playing are left to finish
+        if (line != null && !hasActiveVoices()) {
+            line.stop();
+            line.flush();
+        }
+    }
+
+    /**
+     * Opens an audio file as a stream in the engine's output format
+     *
+     * @param filePath - path to audio file
+     * @return the converted stream
+     */
+    private static AudioInputStream openConverted(String filePath) throws UnsupportedAudioFileException, IOException {
+        AudioInputStream source = AudioSystem.getAudioInputStream(new File(filePath));
+        if (source.getFormat().matches(FORMAT)) {
+            return source;
+        }
+        AudioFormat sourceFormat = source.getFormat();
+        if (sourceFormat.getEncoding() != AudioFormat.Encoding.PCM_SIGNED) {
+            // Compressed or unsigned audio is decoded to signed PCM at its own rate first
+            AudioFormat decoded = new AudioFormat(sourceFormat.getSampleRate(), 16, sourceFormat.getChannels(), true, false);
+            source = AudioSystem.getAudioInputStream(decoded, source);
+        }
+        return AudioSystem.getAudioInputStream(FORMAT, source);
+    }
+
+    /**
+     * A looping music stream decoded to the engine's output format on demand
+     */
+    private static class MusicTrack {
+        private static final float FADE_STEP = 1f / (FORMAT.getSampleRate() * CROSSFADE_MILLIS / 1000f);
+
+        final String filePath;
+        private AudioInputStream stream;
+        private final byte[] readBuffer = new byte[CHUNK_FRAMES * 4];
+        private float gain = 1;
+        private float targetGain = 1;
+
+        MusicTrack(String filePath) throws UnsupportedAudioFileException, IOException {
+            this.filePath = filePath;
+            this.stream = openConverted(filePath);
+        }
+
+        void setGain(float gain) {
+            this.gain = gain;
+        }
+
+        void fadeTo(float targetGain) {
+            this.targetGain = targetGain;
+        }
+
+        boolean isSilent() {
+            return gain <= 0 && targetGain <= 0;
+        }
+
+        /**
+         * Adds the next chunk of the track to the mix, reopening the stream at the end to loop
+         *
+         * @param mix - Interleaved stereo mix buffer
+         * @return false if the track can no longer be read
+         */
+        boolean mixInto(int[] mix) {
+            int filled = 0;
+            try {
+                boolean reopened = false;
+                while (filled < readBuffer.length) {
+                    int read = stream.read(readBuffer, filled, readBuffer.length - filled);
+                    if (read < 0) {
+                        if (reopened) {
+                            break; // Empty file
+                        }
+                        stream.close();
+                        stream = openConverted(filePath);
+                        reopened = true;
+                    } else {
+                        filled += read;
+                        reopened = false;
+                    }
+                }
+            } catch (UnsupportedAudioFileException | IOException e) {
+                e.printStackTrace();
+                return false;
+            }
+
+            int samples = filled / 2;
+            for (int i = 0; i < samples; i++) {
+                if (gain != targetGain && (i & 1) == 0) {
+                    gain = gain < targetGain ? Math.min(targetGain, gain + FADE_STEP) : Math.max(targetGain, gain - FADE_STEP);
+                }
+                int sample = (short) ((readBuffer[2 * i] & 0xFF) | (readBuffer[2 * i + 1] << 8));
+                mix[i] += (int) (sample * gain);
+            }
+            return filled > 0;
+        }
+
+        void close() {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,445 @@
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Automatic checkpoint history for a single difficulty, kept in "saves/<difficulty> mode checkpoints.log"
+ * Every answered question appends a checkpoint, and the SaveRepository.HISTORY_SIZE most recent checkpoints of
+ * each player can be listed and restored
+ * The file is an append-only log of small records, each stored as:
+ * - Body length (byte), body, low 16 bits of the body's CRC32 (short)
+ * Bodies start with a record type followed by variable-length ints:
+ * - NAME: player id, username (UTF-8), assigning an id the first time a player is checkpointed
+ * - FULL: player id, score, lives, questionIndex
+ * - DELTA: player id, then the change in score, lives and questionIndex from the player's previous checkpoint
+ * - CLEAR: player id, dropping the player's history
+ * A checkpoint after a correct or wrong answer is a DELTA of a handful of bytes rather than a full record
+ * The log is replayed when it is opened, stopping at the first torn or corrupted record, which is cut off
+ * Once the log holds more than twice as many records as the history it describes it is compacted
+ * Several processes can share the log through its LockFile: records are appended under an exclusive lock, after
+ * replaying the records other processes appended since, so player ids and deltas always follow the whole log
+ */
+public class CheckpointLog {
+    protected static final int MAGIC = 0x515A4350; // "QZCP"
+    protected static final int VERSION = 1;
+    protected static final int HEADER_SIZE = 8;
+    private static final int MIN_COMPACTION_RECORDS = 4096;
+    private static final int MAX_BODY_SIZE = 255;
+
+    private static final byte NAME = 1;
+    private static final byte FULL = 2;
+    private static final byte DELTA = 3;
+    private static final byte CLEAR = 4;
+
+    private final File file;
+    private final LockFile lockFile;
+    private final Map<String, History> histories = new HashMap<>();
+    private final List<History> historiesById = new ArrayList<>();
+    private final ByteBuffer record = ByteBuffer.allocate(1 + MAX_BODY_SIZE + 2);
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    // Generation of the file the channel has open (see LockFile), which changes when another process compacts the log
+    private long generation;
+    private long size;
+    private int records;
+    private int liveRecords;
+
+    /**
+     * A player's recent checkpoints
+     */
+    private static class History {
+        final String username;
+        int id;
+        final ArrayDeque<GameUtils.GameState> checkpoints = new ArrayDeque<>();
+        // The last checkpoint written, which the next DELTA is relative to
+        GameUtils.GameState last;
+
+        History(String username, int id) {
+            this.username = username;
+            this.id = id;
+        }
+    }
+
+    private CheckpointLog(File file) {
+        this.file = file;
+        this.lockFile = new LockFile(file);
+    }
+
+    /**
+     * Opens a checkpoint log, replaying it or creating it on first use
+     *
+     * @param file - Log file
+     * @return the opened checkpoint log
+     */
+    protected static CheckpointLog open(File file) throws IOException {
+        File savesDirectory = file.getParentFile();
+        if (!savesDirectory.exists()) {
+            savesDirectory.mkdirs();
+        }
+        CheckpointLog log = new CheckpointLog(file);
+        FileLock lock = log.lockFile.lock(LockFile.FILE, false);
+        try {
+            log.refresh(true);
+        } finally {
+            lock.release();
+        }
+        return log;
+    }
+
+    /**
+     * Replays the records other processes have appended since the last refresh, or the whole log if it was
+     * replaced, creating it if it does not exist
+     * Must be called with the lock held
+     *
+     * @param writing - Whether the lock is held for writing, in which case a damaged last record is cut off
+     */
+    private void refresh(boolean writing) throws IOException {
+        long current = lockFile.generation();
+        if (channel == null || current != generation) {
+            if (channel != null) {
+                channel.close();
+            }
+            histories.clear();
+            historiesById.clear();
+            records = 0;
+            liveRecords = 0;
+            size = HEADER_SIZE;
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            generation = current;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.size() == 0) {
+                if (!writing) {
+                    return;
+                }
+                header.putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                channel.write(header, 0);
+            } else {
+                channel.read(header, 0);
+                header.flip();
+                if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException("Not a checkpoint log: " + file);
+                }
+            }
+        }
+        if (channel.size() <= size) {
+            return;
+        }
+        size = replay(size);
+        // Every writer holds the lock while it appends, so a damaged record at the end was left by one that crashed
+        if (size < channel.size() && writing) {
+            System.out.println("Discarding a damaged checkpoint record at the end of " + file);
+            channel.truncate(size);
+        }
+    }
+
+    /**
+     * Replays the log into the in-memory histories
+     *
+     * @param from - Position of the first record to replay
+     * @return the length of the valid part of the log
+     */
+    private long replay(long from) throws IOException {
+        try (FileInputStream stream = new FileInputStream(file)) {
+            stream.getChannel().position(from);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+            long position = from;
+            byte[] body = new byte[MAX_BODY_SIZE];
+            while (true) {
+                int length = input.read();
+                if (length <= 0) {
+                    return position;
+                }
+                try {
+                    input.readFully(body, 0, length);
+                    int storedCrc = input.readUnsignedShort();
+                    crc.reset();
+                    crc.update(body, 0, length);
+                    if (((int) crc.getValue() & 0xFFFF) != storedCrc || !apply(ByteBuffer.wrap(body, 0, length))) {
+                        return position;
+                    }
+                } catch (EOFException e) {
+                    return position;
+                }
+                position += 1 + length + 2;
+                records++;
+            }
+        }
+    }
+
+    /**
+     * Applies a replayed record
+     *
+     * @return false if the record is not valid at this point of the log
+     */
+    private boolean apply(ByteBuffer body) {
+        try {
+            byte type = body.get();
+            int id = readVarInt(body);
+            if (type == NAME) {
+                if (id != historiesById.size()) {
+                    return false;
+                }
+                String username = new String(body.array(), body.position(), body.remaining(), StandardCharsets.UTF_8);
+                History history = new History(username, id);
+                histories.put(username, history);
+                historiesById.add(history);
+                liveRecords++;
+                return true;
+            }
+            if (id >= historiesById.size()) {
+                return false;
+            }
+            History history = historiesById.get(id);
+            if (type == CLEAR) {
+                clearHistory(history);
+                return true;
+            }
+            int score = readSignedVarInt(body);
+            int lives = readSignedVarInt(body);
+            int questionIndex = readSignedVarInt(body);
+            if (type == DELTA) {
+                if (history.last == null) {
+                    return false;
+                }
+                score += history.last.getScore();
+                lives += history.last.getLives();
+                questionIndex += history.last.getQuestionIndex();
+            } else if (type != FULL) {
+                return false;
+            }
+            addCheckpoint(history, new GameUtils.GameState(score, lives, questionIndex));
+            return true;
+        } catch (BufferUnderflowException e) {
+            return false;
+        }
+    }
+
+    private void addCheckpoint(History history, GameUtils.GameState gameState) {
+        history.checkpoints.addFirst(gameState);
+        history.last = gameState;
+        liveRecords++;
+        if (history.checkpoints.size() > SaveRepository.HISTORY_SIZE) {
+            history.checkpoints.removeLast();
+            liveRecords--;
+        }
+    }
+
+    private void clearHistory(History history) {
+        liveRecords -= history.checkpoints.size();
+        history.checkpoints.clear();
+        history.last = null;
+    }
+
+    /**
+     * Appends a checkpoint to a player's history, as a delta from their previous checkpoint where there is one
+     *
+     * @param username - Player's username
+     * @param gameState - Game state to checkpoint
+     */
+    protected synchronized void append(String username, GameUtils.GameState gameState) throws IOException {
+        FileLock lock = lockFile.lock(LockFile.FILE, false);
+        try {
+            refresh(true);
+            write(username, gameState);
+            compactIfNeeded();
+        } finally {
+            lock.release();
+        }
+    }
+
+    private void write(String username, GameUtils.GameState gameState) throws IOException {
+        History history = histories.get(username);
+        if (history == null) {
+            byte[] name = username.getBytes(StandardCharsets.UTF_8);
+            if (name.length > SaveStore.MAX_USERNAME_BYTES) {
+                throw new IllegalArgumentException("Username is too long to save: " + username);
+            }
+            history = new History(username, historiesById.size());
+            startRecord(NAME, history.id);
+            record.put(name);
+            writeRecord();
+            histories.put(username, history);
+            historiesById.add(history);
+            liveRecords++;
+        }
+
+        GameUtils.GameState last = history.last;
+        if (last == null) {
+            startRecord(FULL, history.id);
+            writeSignedVarInt(gameState.getScore());
+            writeSignedVarInt(gameState.getLives());
+            writeSignedVarInt(gameState.getQuestionIndex());
+        } else {
+            startRecord(DELTA, history.id);
+            writeSignedVarInt(gameState.getScore() - last.getScore());
+            writeSignedVarInt(gameState.getLives() - last.getLives());
+            writeSignedVarInt(gameState.getQuestionIndex() - last.getQuestionIndex());
+        }
+        writeRecord();
+        addCheckpoint(history, gameState);
+    }
+
+    /**
+     * Gets a player's recent checkpoints, including any another process has appended
+     *
+     * @param username - Player's username
+     * @return checkpoints, newest first
+     */
+    protected synchronized List<GameUtils.GameState> history(String username) throws IOException {
+        FileLock lock = lockFile.lock(LockFile.FILE, true);
+        try {
+            refresh(false);
+        } finally {
+            lock.release();
+        }
+        History history = histories.get(username);
+        return history == null ? Collections.emptyList() : new ArrayList<>(history.checkpoints);
+    }
+
+    /**
+     * Drops a player's checkpoints, e.g. once their game is over
+     *
+     * @param username - Player's username
+     */
+    protected synchronized void clear(String username) throws IOException {
+        FileLock lock = lockFile.lock(LockFile.FILE, false);
+        try {
+            refresh(true);
+            History history = histories.get(username);
+            if (history == null || history.last == null) {
+                return;
+            }
+            startRecord(CLEAR, history.id);
+            writeRecord();
+            clearHistory(history);
+            compactIfNeeded();
+        } finally {
+            lock.release();
+        }
+    }
+
+    private void startRecord(byte type, int id) {
+        record.clear();
+        record.position(1);
+        record.put(type);
+        writeVarInt(id);
+    }
+
+    private void writeRecord() throws IOException {
+        int length = record.position() - 1;
+        record.put(0, (byte) length);
+        crc.reset();
+        crc.update(record.array(), 1, length);
+        record.putShort((short) crc.getValue());
+        record.flip();
+        while (record.hasRemaining()) {
+            size += channel.write(record, size);
+        }
+        records++;
+    }
+
+    /**
+     * Rewrites the log with only the checkpoints still in each player's history, replacing the old log atomically
+     * Players without checkpoints are dropped and the remaining players are given new ids
+     */
+    private void compactIfNeeded() throws IOException {
+        if (records <= MIN_COMPACTION_RECORDS || records <= 2 * liveRecords) {
+            return;
+        }
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        FileChannel compacted = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        FileChannel original = channel;
+        channel = compacted;
+        List<History> kept = new ArrayList<>();
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            channel.write(header, 0);
+            size = HEADER_SIZE;
+            records = 0;
+            for (History history : historiesById) {
+                if (history.checkpoints.isEmpty()) {
+                    continue;
+                }
+                history.id = kept.size();
+                kept.add(history);
+                startRecord(NAME, history.id);
+                record.put(history.username.getBytes(StandardCharsets.UTF_8));
+                writeRecord();
+
+                GameUtils.GameState previous = null;
+                Iterator<GameUtils.GameState> oldestFirst = history.checkpoints.descendingIterator();
+                while (oldestFirst.hasNext()) {
+                    GameUtils.GameState gameState = oldestFirst.next();
+                    if (previous == null) {
+                        startRecord(FULL, history.id);
+                        writeSignedVarInt(gameState.getScore());
+                        writeSignedVarInt(gameState.getLives());
+                        writeSignedVarInt(gameState.getQuestionIndex());
+                    } else {
+                        startRecord(DELTA, history.id);
+                        writeSignedVarInt(gameState.getScore() - previous.getScore());
+                        writeSignedVarInt(gameState.getLives() - previous.getLives());
+                        writeSignedVarInt(gameState.getQuestionIndex() - previous.getQuestionIndex());
+                    }
+                    writeRecord();
+                    previous = gameState;
+                }
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            compacted.close();
+            channel = original;
+            throw e;
+        }
+        original.close();
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        generation = lockFile.replaced();
+
+        histories.values().removeIf(history -> history.checkpoints.isEmpty());
+        historiesById.clear();
+        historiesById.addAll(kept);
+        liveRecords = records;
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            record.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        record.put((byte) value);
+    }
+
+    private void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new BufferUnderflowException();
+    }
+
+    private static int readSignedVarInt(ByteBuffer buffer) {
+        int value = readVarInt(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,215 @@
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in watchdog for Event Dispatch Thread stalls
+ * Enabled by setting the "queeze.edtWatchdog.thresholdMillis" system property to the longest acceptable dispatch time
+ * - An EventQueue pushed in front of the system queue times every event, excluding time spent in a nested loop
+ *   (e.g. while a modal dialog is open), and records it in Metrics as "edt.dispatch"
+ * - A sampler thread captures the EDT's stack whenever the EDT has not made progress for longer than the threshold,
+ *   and again every half threshold for as long as the stall lasts
+ * Samples are grouped by call site: the innermost frame, and the innermost frame of the game's own code that led to it
+ * The report lists call sites by total stalled time and is printed when the application exits
+ */
+public class EdtWatchdog {
+    private static final int MAX_DEPTH = 64;
+    private static final int MAX_REPORTED_SITES = 20;
+
+    private static EdtWatchdog instance;
+
+    private final long thresholdNanos;
+    private final LatencyHistogram dispatchTimer = Metrics.timer("edt.dispatch");
+    private final LongAdder stallCounter = Metrics.counter("edt.stalls");
+    private final Map<String, CallSite> callSites = new HashMap<>();
+
+    // Written only by the EDT
+    private final long[] nestedNanos = new long[MAX_DEPTH];
+    private int depth;
+    private Thread eventThread;
+
+    // When the EDT last started or resumed an event, and a counter that changes each time
+    private volatile long progressNanos;
+    private volatile long progressId;
+    private volatile boolean dispatching;
+
+    private EdtWatchdog(long thresholdNanos) {
+        this.thresholdNanos = thresholdNanos;
+    }
+
+    /**
+     * Installs the watchdog if its threshold system property is set
+     * Only the first call has any effect
+     */
+    protected static synchronized void installIfEnabled() {
+        Long thresholdMillis = Long.getLong("queeze.edtWatchdog.thresholdMillis");
+        if (instance != null || thresholdMillis == null) {
+            return;
+        }
+        instance = new EdtWatchdog(Math.max(1, thresholdMillis) * 1_000_000L);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(instance.new TimedEventQueue());
+
+        Thread sampler = new Thread(instance::sample, "queeze-edt-watchdog");
+        sampler.setDaemon(true);
+        sampler.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.print(instance.report()), "queeze-edt-report"));
+        System.out.println("EDT watchdog reporting dispatches over " + thresholdMillis + " ms");
+    }
+
+    /**
+     * Event queue that times each dispatch on the EDT
+     */
+    private class TimedEventQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            if (eventThread == null) {
+                eventThread = Thread.currentThread();
+            }
+            int level = depth++;
+            long start = System.nanoTime();
+            if (level < MAX_DEPTH) {
+                nestedNanos[level] = 0;
+            }
+            markProgress(start, true);
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long end = System.nanoTime();
+                depth--;
+                long elapsed = end - start;
+                long selfNanos = elapsed - (level < MAX_DEPTH ? nestedNanos[level] : 0);
+                if (level > 0 && level <= MAX_DEPTH) {
+                    nestedNanos[level - 1] += elapsed;
+                }
+                dispatchTimer.record(selfNanos);
+                if (selfNanos > thresholdNanos) {
+                    stallCounter.increment();
+                }
+                // The enclosing event, if any, resumes now
+                markProgress(end, level > 0);
+            }
+        }
+
+        /**
+         * Excludes time an event spends waiting in a nested loop, e.g. behind a modal dialog, from its dispatch time
+         */
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            int level = depth;
+            if (level == 0 || Thread.currentThread() != eventThread) {
+                return super.getNextEvent();
+            }
+            long start = System.nanoTime();
+            markProgress(start, false);
+            try {
+                return super.getNextEvent();
+            } finally {
+                long end = System.nanoTime();
+                if (level <= MAX_DEPTH) {
+                    nestedNanos[level - 1] += end - start;
+                }
+                markProgress(end, true);
+            }
+        }
+    }
+
+    private void markProgress(long nanos, boolean stillDispatching) {
+        progressNanos = nanos;
+        progressId++;
+        dispatching = stillDispatching;
+    }
+
+    /**
+     * Sampler loop, capturing the EDT's stack while it is stalled
+     */
+    private void sample() {
+        long intervalMillis = Math.max(1, thresholdNanos / 2_000_000);
+        while (true) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            Thread thread = eventThread;
+            long id = progressId;
+            long stalledNanos = System.nanoTime() - progressNanos;
+            if (thread == null || !dispatching || stalledNanos < thresholdNanos) {
+                continue;
+            }
+            StackTraceElement[] stack = thread.getStackTrace();
+            // Ignore the sample if the EDT moved on while the stack was being captured
+            if (id == progressId) {
+                record(stack, intervalMillis);
+            }
+        }
+    }
+
+    private synchronized void record(StackTraceElement[] stack, long sampleMillis) {
+        if (stack.length == 0) {
+            return;
+        }
+        StackTraceElement gameFrame = null;
+        for (StackTraceElement frame : stack) {
+            if (isGameFrame(frame)) {
+                gameFrame = frame;
+                break;
+            }
+        }
+        String key = stack[0] + (gameFrame == null || gameFrame == stack[0] ? "" : "\n      from " + gameFrame);
+        CallSite site = callSites.computeIfAbsent(key, k -> new CallSite(stack));
+        site.samples++;
+        site.stalledMillis += sampleMillis;
+    }
+
+    private static boolean isGameFrame(StackTraceElement frame) {
+        String className = frame.getClassName();
+        return !className.startsWith("java.") && !className.startsWith("javax.") && !className.startsWith("sun.")
+                && !className.startsWith("jdk.") && !className.startsWith("com.sun.")
+                && !className.startsWith(EdtWatchdog.class.getName());
+    }
+
+    /**
+     * Formats the stalled call sites, longest total stall first
+     *
+     * @return report text
+     */
+    protected synchronized String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%nEDT watchdog: %d of %d events took over %d ms (p99 %.1f ms, max %.1f ms)%n",
+                stallCounter.sum(), dispatchTimer.getCount(), thresholdNanos / 1_000_000,
+                dispatchTimer.getValueAtPercentile(99) / 1e6, dispatchTimer.getMax() / 1e6));
+
+        List<Map.Entry<String, CallSite>> sites = new ArrayList<>(callSites.entrySet());
+        sites.sort((a, b) -> Long.compare(b.getValue().stalledMillis, a.getValue().stalledMillis));
+        for (int i = 0; i < Math.min(MAX_REPORTED_SITES, sites.size()); i++) {
+            Map.Entry<String, CallSite> entry = sites.get(i);
+            report.append(String.format("  ~%d ms stalled (%d samples) at %s%n",
+                    entry.getValue().stalledMillis, entry.getValue().samples, entry.getKey()));
+            for (StackTraceElement frame : entry.getValue().stack) {
+                report.append("        ").append(frame).append('\n');
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Stall samples aggregated at one call site, with the first stack captured there
+     */
+    private static class CallSite {
+        private static final int STACK_DEPTH = 12;
+
+        final StackTraceElement[] stack;
+        long samples;
+        long stalledMillis;
+
+        CallSite(StackTraceElement[] stack) {
+            this.stack = Arrays.copyOf(stack, Math.min(STACK_DEPTH, stack.length));
+        }
+    }
+}
@@ -2,19 +2,54 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class Game {
     //Core Components
     protected static JFrame frame;
     protected JPanel panel;
     protected CardLayout cardLayout;
+    protected ScreenRegistry screens;
     protected String username;
 
+    //Reusable screen components
+    protected JTextField usernameTextField;
+    protected JLabel leaderboardTitleLabel;
+    protected JPanel leaderboardContentPanel;
+    protected LeaderboardList leaderboardList;
+    protected String leaderboardDifficulty;
+
+    //Quiz server address, set with --connect
+    protected static InetSocketAddress serverAddress;
+
+    protected static final String LOGO_PATH = "Assets//queeze logo.png";
+
     /**
      * Ensures GUI creation happens on the Event Dispatch Thread
+     * Command line options:
+     * - --server [port] [bind address]: hosts quiz sessions for remote players instead of opening a window,
+     *   only accepting players on this machine unless a bind address such as 0.0.0.0 is given
+     * - --connect [host:port]: plays games on a quiz server, localhost by default
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : QuizServer.DEFAULT_PORT;
+            InetSocketAddress address = args.length > 2 ? new InetSocketAddress(args[2], port)
+                    : new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+            new QuizServer(address).start();
+            System.out.println("Quiz server listening on " + address);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--connect")) {
+            serverAddress = QuizClient.parseAddress(args.length > 1 ? args[1] : "localhost");
+        }
+        EdtWatchdog.installIfEnabled();
         SwingUtilities.invokeLater(Game::new);
     }
 
@@ -22,18 +57,65 @@ public class Game {
      * Initializes the game application
      */
     protected Game() {
+        if (Startup.FAST) {
+            // Only the frame and main menu are built before the first frame, the rest waits for idle time
+            Startup.runWhenInteractive(Metrics::start);
+            Startup.runWhenInteractive(AudioEngine::loadEffects);
+            Startup.runWhenInteractive(this::prepareInBackground);
+            for (String screen : new String[]{"UsernameEntryScreen", "GameSelection", "GameScreen"}) {
+                Startup.runWhenInteractive(() -> screens.get(screen));
+            }
+        } else {
+            Metrics.start();
+            AudioEngine.loadEffects();
+        }
         initializeFrame();
         initializePanel();
         showMainMenu();
         frame.setVisible(true);
     }
 
+    /**
+     * Maps every difficulty's question bank and replays its score log in the background,
+     * so the first game and leaderboard open without touching the disk
+     */
+    protected void prepareInBackground() {
+        for (String difficulty : new String[]{"Easy", "Normal", "Hard"}) {
+            CompletableFuture.runAsync(() -> QuestionBank.forDifficulty(difficulty));
+            AsyncPersistence.loadLeaderboard(difficulty);
+        }
+    }
+
+    /**
+     * Loads the logo into the resource cache, in the background in fast startup mode
+     *
+     * @param loader - Gets the logo image or icon from the resource cache
+     * @param consumer - Receives the loaded logo on the Event Dispatch Thread
+     */
+    protected static <T> void loadLogo(Supplier<T> loader, Consumer<T> consumer) {
+        if (!Startup.FAST) {
+            try {
+                consumer.accept(loader.get());
+            } catch (UncheckedIOException e) {
+                System.out.println(e.getMessage());
+            }
+            return;
+        }
+        CompletableFuture.supplyAsync(loader).whenCompleteAsync((logo, e) -> {
+            if (e != null) {
+                System.out.println(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            } else {
+                consumer.accept(logo);
+            }
+        }, AsyncPersistence.EDT);
+    }
+
     /**
      * Configures the application's frame or window
      */
     protected void initializeFrame() {
         frame = new JFrame("Queeze");
-        frame.setIconImage(new ImageIcon("Assets/queeze logo.png").getImage());
+        loadLogo(() -> ResourceCache.image(LOGO_PATH), image -> frame.setIconImage(image));
         frame.setSize(1280, 820);
         frame.setMinimumSize(new Dimension(1280, 820));
         frame.setLayout(new BorderLayout());
@@ -42,44 +124,70 @@ public class Game {
     }
 
     /**
-     * Initializes the main panel with CardLayout
+     * Initializes the main panel with CardLayout and registers every screen with the screen registry
+     * Screens are built the first time they are shown and reused afterwards
      */
     protected void initializePanel() {
         cardLayout = new CardLayout();
-        panel = new JPanel(cardLayout);
+        panel = new JPanel(cardLayout) {
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                Startup.firstFramePainted();
+            }
+        };
         frame.add(panel);
+
+        screens = new ScreenRegistry(panel, cardLayout);
+        screens.register("StartScreen", this::buildMainMenu);
+        screens.register("GameSelection", () -> buildDifficultySelection(false));
+        screens.register("LeaderboardSelection", () -> buildDifficultySelection(true));
+        screens.register("UsernameEntryScreen", this::buildUsernameEntry);
+        screens.register("Leaderboard", this::buildLeaderboard);
+        screens.register("GameScreen", GameplayScreen::new);
+        screens.register("PostGameScreen", PostGameScreen::new);
     }
 
     /**
-     * Creates and displays the main menu screen
+     * Displays the main menu screen
      */
     protected void showMainMenu() {
-        GameUtils.GradientPanel startPanel = new GameUtils.GradientPanel(new BorderLayout(), Color.decode("#0A0A"), Color.decode("#8F00FF"));
+        screens.show("StartScreen");
+    }
+
+    /**
+     * Creates the main menu screen
+     *
+     * @return the main menu panel
+     */
+    protected JComponent buildMainMenu() {
+        GameUtils.GradientPanel startPanel = new GameUtils.GradientPanel(new BorderLayout(), ResourceCache.color("#0A0A"), ResourceCache.color("#8F00FF"));
 
         JPanel centerPanel = GameUtils.createPanel(new GridBagLayout(), false);
 
         GridBagConstraints gbcTop = GameUtils.createGridBagConstraints();
         gbcTop.insets = new Insets(20, 10, 20, 10);
 
-        ImageIcon originalIcon = new ImageIcon("Assets//queeze logo.png");
-        Image scaledImage = originalIcon.getImage().getScaledInstance(300, 200, Image.SCALE_SMOOTH);
-        ImageIcon scaledIcon = new ImageIcon(scaledImage);
-        JLabel imageLabel = new JLabel(scaledIcon);
+        // The scaled logo is kept in the resource cache, so rebuilding the menu does not decode it again
+        // In fast startup mode it fills in the reserved space once it is ready
+        JLabel imageLabel = new JLabel();
+        imageLabel.setPreferredSize(new Dimension(300, 200));
+        loadLogo(() -> ResourceCache.icon(LOGO_PATH, 300, 200), imageLabel::setIcon);
         centerPanel.add(imageLabel, gbcTop);
 
         GridBagConstraints gbcMiddle = GameUtils.createGridBagConstraints();
         gbcMiddle.insets = new Insets(10, 10, 30, 10);
 
         JButton startButton = GameUtils.createButton("Start Game", new Dimension(550, 100),
-                new Font("Poppins", Font.BOLD, 30), new Color(0x0FFFFF), Color.BLACK,
+                ResourceCache.font("Poppins", Font.BOLD, 30), ResourceCache.color(0x0FFFFF), Color.BLACK,
                 e -> showUsernameEntry());
 
         JButton leaderboardButton = GameUtils.createButton("Leaderboard", new Dimension(550, 100),
-                new Font("Poppins", Font.BOLD, 30), new Color(0x0FFFFF), Color.BLACK,
+                ResourceCache.font("Poppins", Font.BOLD, 30), ResourceCache.color(0x0FFFFF), Color.BLACK,
                 e -> showDifficultySelection(true));
 
         JButton exitButton = GameUtils.createButton("Exit", new Dimension(550, 100),
-                new Font("Poppins", Font.BOLD, 30), new Color(0x0FFFFF), Color.BLACK,
+                ResourceCache.font("Poppins", Font.BOLD, 30), ResourceCache.color(0x0FFFFF), Color.BLACK,
                 e -> System.exit(0));
 
         centerPanel.add(startButton, gbcMiddle);
@@ -95,7 +203,7 @@ public class Game {
         startPanel.add(centerPanel, BorderLayout.CENTER);
         startPanel.add(bottomPanel, BorderLayout.SOUTH);
 
-        panel.add(startPanel, "StartScreen");
+        return startPanel;
     }
 
     /**
@@ -104,7 +212,17 @@ public class Game {
      * @param isLeaderboard - true if viewing leaderboards, false if starting a new game
      */
     protected void showDifficultySelection(boolean isLeaderboard) {
-        GameUtils.GradientPanel difficultyPanel = new GameUtils.GradientPanel(new BorderLayout(), Color.decode("#0A0A"), Color.decode("#8F00FF"));
+        screens.show(isLeaderboard ? "LeaderboardSelection" : "GameSelection");
+    }
+
+    /**
+     * Creates the difficulty selection screen
+     *
+     * @param isLeaderboard - true if viewing leaderboards, false if starting a new game
+     * @return the difficulty selection panel
+     */
+    protected JComponent buildDifficultySelection(boolean isLeaderboard) {
+        GameUtils.GradientPanel difficultyPanel = new GameUtils.GradientPanel(new BorderLayout(), ResourceCache.color("#0A0A"), ResourceCache.color("#8F00FF"));
 
         JPanel centerPanel = GameUtils.createPanel(new GridBagLayout(), false);
 
@@ -115,20 +233,31 @@ public class Game {
 
         GameUtils.createGameModeButtons(centerPanel, gbc, isLeaderboard, this);
 
-        JPanel topPanel = GameUtils.createReturnPanel(isLeaderboard ? "StartScreen" : "UsernameEntryScreen", panel, cardLayout);
+        JPanel topPanel = GameUtils.createReturnPanel(isLeaderboard ? "StartScreen" : "UsernameEntryScreen", screens);
 
         difficultyPanel.add(topPanel, BorderLayout.NORTH);
         difficultyPanel.add(centerPanel, BorderLayout.CENTER);
 
-        panel.add(difficultyPanel, isLeaderboard ? "LeaderboardSelection" : "GameSelection");
-        cardLayout.show(panel, isLeaderboard ? "LeaderboardSelection" : "GameSelection");
+        return difficultyPanel;
     }
 
     /**
      * Shows username entry screen for user record
+     * The text field is cleared each time the screen is shown
      */
     protected void showUsernameEntry() {
-        GameUtils.GradientPanel userEntryPanel = new GameUtils.GradientPanel(new BorderLayout(), Color.decode("#0A0A"), Color.decode("#8F00FF"));
+        screens.get("UsernameEntryScreen");
+        usernameTextField.setText("");
+        screens.show("UsernameEntryScreen");
+    }
+
+    /**
+     * Creates the username entry screen
+     *
+     * @return the username entry panel
+     */
+    protected JComponent buildUsernameEntry() {
+        GameUtils.GradientPanel userEntryPanel = new GameUtils.GradientPanel(new BorderLayout(), ResourceCache.color("#0A0A"), ResourceCache.color("#8F00FF"));
 
         JPanel encodePanel = GameUtils.createPanel(new GridBagLayout(), false);
 
@@ -137,15 +266,15 @@ public class Game {
         JLabel usernameLabel = GameUtils.createLabel("Please Enter Your Username:", 40, Color.WHITE);
         encodePanel.add(usernameLabel, gbc);
 
-        JTextField usernameTextField = new JTextField(15);
+        usernameTextField = new JTextField(15);
         usernameTextField.setPreferredSize(new Dimension(usernameTextField.getPreferredSize().width, 60));
-        usernameTextField.setFont(new Font("Poppins", Font.BOLD, 25));
+        usernameTextField.setFont(ResourceCache.font("Poppins", Font.BOLD, 25));
         usernameTextField.setHorizontalAlignment(JTextField.CENTER);
         usernameTextField.setForeground(Color.BLACK);
         encodePanel.add(usernameTextField, gbc);
 
         JButton encodeButton = GameUtils.createButton("Enter", new Dimension(250, 80),
-                new Font("Poppins", Font.BOLD, 30), new Color(0x0FFFFF), Color.BLACK,
+                ResourceCache.font("Poppins", Font.BOLD, 30), ResourceCache.color(0x0FFFFF), Color.BLACK,
                 e -> {
                     username = usernameTextField.getText();
                     if (!username.isEmpty()) {
@@ -158,10 +287,9 @@ public class Game {
         gbc.anchor = GridBagConstraints.CENTER;
         encodePanel.add(encodeButton, gbc);
 
-        userEntryPanel.add(GameUtils.createReturnPanel("StartScreen", panel, cardLayout), BorderLayout.NORTH);
+        userEntryPanel.add(GameUtils.createReturnPanel("StartScreen", screens), BorderLayout.NORTH);
         userEntryPanel.add(encodePanel, BorderLayout.CENTER);
-        panel.add(userEntryPanel, "UsernameEntryScreen");
-        cardLayout.show(panel, "UsernameEntryScreen");
+        return userEntryPanel;
     }
 
     /**
@@ -182,7 +310,7 @@ public class Game {
      */
     protected void startWithSaveState(String difficulty, GameUtils.GameState gameState) {
         Base gameMode = this.createGameMode(difficulty, username);
-        gameMode.showGameplay(panel, cardLayout, gameState.getScore(), gameState.getLives(), gameState.getQuestionIndex());
+        gameMode.showGameplay(screens, gameState.getScore(), gameState.getLives(), gameState.getQuestionIndex());
     }
 
     /**
@@ -193,11 +321,12 @@ public class Game {
     protected void startNewRound(String difficulty) {
         Base gameMode = this.createGameMode(difficulty, username);
         int initialLives = gameMode.initialLives();
-        gameMode.showGameplay(panel, cardLayout, 0, initialLives, 0);
+        gameMode.showGameplay(screens, 0, initialLives, 0);
     }
 
     /**
      * Factory method for creating game mode instances depending on the difficulty
+     * When connected to a quiz server, the game connects to the server once it starts (see Base.startEngine)
      *
      * @param difficulty - The game difficulty choseen
      * @param username - Player's username
@@ -205,90 +334,121 @@ public class Game {
      * @return the game mode/difficulty class chosen
      */
     protected Base createGameMode(String difficulty, String username) {
-        switch (difficulty) {
-            case "Easy":
-                return new GameModes.EasyMode(username);
-            case "Normal":
-                return new GameModes.NormalMode(username);
-            case "Hard":
-                return new GameModes.HardMode(username);
-            default:
-                throw new IllegalArgumentException("Invalid difficulty: " + difficulty);
-        }
+        return GameModes.create(difficulty, username);
     }
 
     /**
      * Displays leaderboard for specified difficulty
-     * Adds crown symbol (♛) for either the top scorer or those with the highest possible scores (15)
+     * Scores are shown in a virtualized list that only renders the visible rows (see LeaderboardList)
+     * The screen is shown right away and the list is filled in once the leaderboard has been read
      *
      * @param difficulty - The game difficulty chosen
      */
     protected void showLeaderboard(String difficulty) {
-        GameUtils.GradientPanel leaderboardPanel = new GameUtils.GradientPanel(new BorderLayout(), Color.decode("#0A0A"), Color.decode("#8F00FF"));
-
-        JPanel centerPanel = GameUtils.createPanel(new GridBagLayout(), false);
+        screens.get("Leaderboard");
+        leaderboardDifficulty = difficulty;
+        leaderboardTitleLabel.setText("Leaderboard " + "(" + difficulty + ")");
+        showLeaderboardMessage("Loading scores...");
+        screens.show("Leaderboard");
+
+        JPanel contentPanel = leaderboardContentPanel;
+        AsyncPersistence.loadLeaderboard(difficulty).whenCompleteAsync((leaderboard, e) -> {
+            if (contentPanel != leaderboardContentPanel || !difficulty.equals(leaderboardDifficulty)) {
+                return; // Another leaderboard was opened while this one was loading
+            }
+            if (e != null) {
+                e.printStackTrace();
+                showLeaderboardMessage("Failed to load scores");
+            } else if (leaderboard.size() == 0) {
+                showLeaderboardMessage("No scores recorded yet");
+            } else {
+                leaderboardList.setLeaderboard(leaderboard);
+                leaderboardList.ensureIndexIsVisible(0);
+                ((CardLayout) contentPanel.getLayout()).show(contentPanel, "Scores");
+            }
+        }, AsyncPersistence.EDT);
+    }
 
-        GridBagConstraints gbc = GameUtils.createGridBagConstraints();
+    /**
+     * Shows a message in place of the leaderboard's scores
+     *
+     * @param message - Message to display
+     */
+    protected void showLeaderboardMessage(String message) {
+        JLabel messageLabel = (JLabel) leaderboardContentPanel.getComponent(0);
+        messageLabel.setText(message);
+        ((CardLayout) leaderboardContentPanel.getLayout()).show(leaderboardContentPanel, "Message");
+    }
 
-        JLabel titleLabel = GameUtils.createLabel("Leaderboard " + "(" + difficulty + ")", 45, Color.WHITE);
-        centerPanel.add(titleLabel, gbc);
+    /**
+     * Creates the leaderboard screen
+     * The score list is rebound to a difficulty's leaderboard each time the screen is shown
+     *
+     * @return the leaderboard panel
+     */
+    protected JComponent buildLeaderboard() {
+        GameUtils.GradientPanel leaderboardPanel = new GameUtils.GradientPanel(new BorderLayout(), ResourceCache.color("#0A0A"), ResourceCache.color("#8F00FF"));
 
-        JPanel scoresPanel = GameUtils.createPanel(new GridLayout(0, 1, 10, 10), false);
+        JPanel centerPanel = GameUtils.createPanel(new BorderLayout(), false);
+        centerPanel.setBorder(BorderFactory.createEmptyBorder(0, 20, 20, 20));
 
-        List<GameUtils.PlayerScore> scores = GameUtils.getPlayerScore(difficulty);
-        if (scores.isEmpty()) {
-            JLabel noScoresLabel = GameUtils.createLabel("No scores recorded yet", 25, Color.WHITE);
-            scoresPanel.add(noScoresLabel);
-        } else {
-            for (int i = 0; i < scores.size(); i++) {
-                GameUtils.PlayerScore playerScore = scores.get(i);
-                String scoreText = playerScore.toString();
-                if (i == 0 || playerScore.getScore() == 15) {
-                    scoreText = "♛ " + scoreText;
-                }
-                JLabel scoreLabel = GameUtils.createLabel(scoreText, 25, Color.WHITE);
-                scoresPanel.add(scoreLabel);
-            }
-        }
+        leaderboardTitleLabel = GameUtils.createLabel("Leaderboard", 45, Color.WHITE);
+        leaderboardTitleLabel.setBorder(BorderFactory.createEmptyBorder(10, 10, 40, 10));
+        centerPanel.add(leaderboardTitleLabel, BorderLayout.NORTH);
 
-        centerPanel.add(scoresPanel, gbc);
-        leaderboardPanel.add(centerPanel, BorderLayout.CENTER);
+        leaderboardContentPanel = GameUtils.createPanel(new CardLayout(), false);
 
-        JPanel topPanel = GameUtils.createReturnPanel("LeaderboardSelection", panel, cardLayout);
-        leaderboardPanel.add(topPanel, BorderLayout.NORTH);
+        JLabel messageLabel = GameUtils.createLabel("", 25, Color.WHITE);
+        messageLabel.setVerticalAlignment(SwingConstants.TOP);
+        leaderboardContentPanel.add(messageLabel, "Message");
 
-        JScrollPane scrollPane = new JScrollPane(leaderboardPanel);
+        leaderboardList = new LeaderboardList();
+        JScrollPane scrollPane = new JScrollPane(leaderboardList);
+        scrollPane.setOpaque(false);
+        scrollPane.getViewport().setOpaque(false);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         scrollPane.setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        leaderboardContentPanel.add(scrollPane, "Scores");
+
+        centerPanel.add(leaderboardContentPanel, BorderLayout.CENTER);
+        leaderboardPanel.add(centerPanel, BorderLayout.CENTER);
 
-        panel.add(scrollPane, "Leaderboard");
-        cardLayout.show(panel, "Leaderboard");
+        JPanel topPanel = GameUtils.createReturnPanel("LeaderboardSelection", screens);
+        leaderboardPanel.add(topPanel, BorderLayout.NORTH);
+
+        return leaderboardPanel;
     }
 
 
     public static abstract class Base implements ActionListener {
         //Core components
+        protected ScreenRegistry screens;
         protected JPanel panel;
-        protected CardLayout cardLayout;
 
         protected String username;
         protected abstract int initialLives();
-        protected int score = 0;
-        protected int lives;
-        protected int questionIndex = 0;
-        protected int answerIndex = 0;
-
-        protected String[] questions;
-        protected String[][] options;
-        protected String[] correctAnswers;
+        // Game rules and state, set up by each game mode with its question bank, or played on a quiz server
+        protected QuizSession engine;
+
         protected JButton pauseButton;
         protected JLabel scoreLabel;
         protected JLabel livesLabel;
-        protected JLabel questionLabel;
+        protected WrappedText questionLabel;
         protected JButton[] optionButtons = new JButton[4];
         protected JButton toggleMusicButton;
+        protected QuestionPrefetcher questionPrefetcher;
+
+        // The question being shown, with the option order of its buttons
+        private QuestionPrefetcher.PreparedQuestion shownQuestion;
+        // When the current question was shown, for answer response times
+        private long questionShownNanos;
+        // Counts engine starts and leaving the game, so a remote start that finishes late can tell it is stale
+        private int starts;
+
+        private static final LatencyHistogram answerTimer = Metrics.timer("game.answer");
+        private static final LatencyHistogram loadQuestionTimer = Metrics.timer("game.question.load");
 
         /**
          * Gets difficulty identifier from game mode classes
@@ -304,78 +464,34 @@ public class Game {
          */
         public Base(String username) {
             this.username = username;
-            this.lives = initialLives();
         }
 
         /**
          * Initializes and displays the main gameplay screen
          *
-         * @param panel - The frame's main panel
-         * @param cardLayout - The frame's CardLayout
+         * @param screens - The frame's screen registry
          * @param score - Starting score
          * @param lives - Starting lives
          * @param questionIndex - Starting question position
          */
-        public void showGameplay(JPanel panel, CardLayout cardLayout, int score, int lives, int questionIndex) {
-            this.panel = panel;
-            this.cardLayout = cardLayout;
-            this.score = score;
-            this.lives = lives;
-            this.questionIndex = questionIndex;
-
-            GameUtils.GradientPanel gamePanel = new GameUtils.GradientPanel(new BorderLayout(), Color.decode("#F0F0F0"), Color.decode("#D8D8FF"));
-
-            JPanel questionPanel = GameUtils.createPanel(new GridBagLayout(), false);
-
-            GridBagConstraints gbc = GameUtils.createGridBagConstraints();
-
-            questionLabel = GameUtils.createLabel("",  25, Color.BLACK);
-            gbc.weighty = 1;
-            gbc.insets = new Insets(10, 10, 10, 10);
-            questionPanel.add(questionLabel, gbc);
-
-            gbc.insets = new Insets(-70, 50, 0, 50);
-            gbc.fill = GridBagConstraints.NONE;
+        public void showGameplay(ScreenRegistry screens, int score, int lives, int questionIndex) {
+            this.screens = screens;
+            this.panel = screens.getPanel();
 
-            for (int i = 0; i < 4; i++) {
-                optionButtons[i] = GameUtils.createButton("", new Dimension(400, 200), new Font("Roboto",
-                        Font.BOLD, 20), new Color(0x004EA1), Color.WHITE, this);
-                gbc.gridx = i % 2;
-                gbc.gridy = i / 2 + 1;
-                gbc.gridwidth = 1;
-                questionPanel.add(optionButtons[i], gbc);
-            }
-
-            JPanel pausePanel = GameUtils.createPanel(new GridBagLayout(), false);
-            pausePanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
-
-            pauseButton = GameUtils.createButton("Pause", new Dimension(100, 30),
-                    new Font("Roboto Mono", Font.BOLD, 20), new Color(0x004EA1), Color.WHITE,
-                    e -> showPauseMenu());
-            pausePanel.add(pauseButton, new GridBagConstraints());
-
-            JPanel infoPanel = GameUtils.createPanel(new GridBagLayout(), false);
-            infoPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
-
-            JPanel labelsPanel = GameUtils.createPanel(new FlowLayout(FlowLayout.CENTER, 20, 0), false);
-            scoreLabel = GameUtils.createLabel("Score: " + score + "/15", 20, Color.BLACK);
-            livesLabel = GameUtils.createLabel("Lives: " + lives, 20, Color.BLACK);
-            labelsPanel.add(scoreLabel);
-            labelsPanel.add(livesLabel);
-
-            infoPanel.add(labelsPanel, new GridBagConstraints());
-
-            JPanel topPanel = GameUtils.createPanel(new BorderLayout(), false);
-            topPanel.add(pausePanel, BorderLayout.NORTH);
-            topPanel.add(infoPanel, BorderLayout.CENTER);
-
-            gamePanel.add(topPanel, BorderLayout.NORTH);
-            gamePanel.add(questionPanel, BorderLayout.CENTER);
+            showGameScreen();
+            startEngine(score, lives, questionIndex, () -> {
+                loadNextQuestion();
+                toggleBackgroundMusic();
+            });
+        }
 
-            panel.add(gamePanel, "GameScreen");
-            cardLayout.show(panel, "GameScreen");
-            loadNextQuestion();
-            toggleBackgroundMusic();
+        /**
+         * Binds the shared gameplay screen to this game and displays it
+         */
+        protected void showGameScreen() {
+            GameplayScreen gameplayScreen = screens.get("GameScreen");
+            gameplayScreen.bind(this);
+            screens.show("GameScreen");
         }
 
         /**
@@ -393,29 +509,29 @@ public class Game {
             pauseMenuPanel.setOpaque(false);
 
             JButton resumeButton = GameUtils.createButton("Resume", new Dimension(300, 60),
-                    new Font("Roboto Mono", Font.BOLD, 20), new Color(0x004EA1), Color.WHITE,
+                    ResourceCache.font("Roboto Mono", Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE,
                     e -> {
                         GameUtils.removePauseOverlay();
                         GameUtils.resumeGame(pauseButton, optionButtons);
                     });
 
             toggleMusicButton = GameUtils.createButton("Stop Music", new Dimension(300, 60),
-                    new Font("Roboto Mono", Font.BOLD, 20), new Color(0x004EA1), Color.WHITE,
+                    ResourceCache.font("Roboto Mono", Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE,
                     e -> toggleBackgroundMusic());
 
             JButton saveMenuButton = GameUtils.createButton("Save Menu", new Dimension(300, 60),
-                    new Font("Roboto Mono", Font.BOLD, 20), new Color(0x004EA1), Color.WHITE,
+                    ResourceCache.font("Roboto Mono", Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE,
                     e -> showSaveMenu());
 
             JButton returnButton = GameUtils.createButton("Main Menu", new Dimension(300, 60),
-                    new Font("Roboto Mono", Font.BOLD, 20), new Color(0x004EA1), Color.WHITE,
+                    ResourceCache.font("Roboto Mono", Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE,
                     e -> {
                         GameUtils.removePauseOverlay();
                         returnToMenu();
                     });
 
             JButton exitButton = GameUtils.createButton("Exit Game", new Dimension(300, 60),
-                    new Font("Roboto Mono", Font.BOLD, 20), new Color(0x004EA1), Color.WHITE,
+                    ResourceCache.font("Roboto Mono", Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE,
                     e -> GameUtils.exitWarning());
 
             GridBagConstraints gbc = GameUtils.createGridBagConstraints();
@@ -441,19 +557,23 @@ public class Game {
             saveMenuPanel.setOpaque(false);
 
             JButton backButton = GameUtils.createButton("Back", new Dimension(300, 60),
-                    new Font("Roboto Mono", Font.BOLD, 20), new Color(0x004EA1), Color.WHITE,
+                    ResourceCache.font("Roboto Mono", Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE,
                     e -> showPauseMenu());
 
             JButton saveButton = GameUtils.createButton("Save Game", new Dimension(300, 60),
-                    new Font("Roboto Mono", Font.BOLD, 20), new Color(0x004EA1), Color.WHITE,
-                    e -> GameUtils.saveGameState(username, score, lives, questionIndex, getDifficulty(), panel, cardLayout));
+                    ResourceCache.font("Roboto Mono", Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE,
+                    e -> {
+                        QuizEngine.Snapshot snapshot = engine.snapshot();
+                        GameUtils.saveGameState(username, snapshot.getScore(), snapshot.getLives(),
+                                snapshot.getQuestionIndex(), getDifficulty(), screens);
+                    });
 
             JButton deleteButton = GameUtils.createButton("Delete Save", new Dimension(300, 60),
-                    new Font("Roboto Mono", Font.BOLD, 20), new Color(0x004EA1), Color.WHITE,
+                    ResourceCache.font("Roboto Mono", Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE,
                     e -> GameUtils.deleteGameState(username, getDifficulty()));
 
             JButton loadButton = GameUtils.createButton("Load Save", new Dimension(300, 60),
-                    new Font("Roboto Mono", Font.BOLD, 20), new Color(0x004EA1), Color.WHITE,
+                    ResourceCache.font("Roboto Mono", Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE,
                     e -> GameUtils.gameplayLoadGameState(username, getDifficulty(), this));
 
             GridBagConstraints gbc = GameUtils.createGridBagConstraints();
@@ -477,7 +597,7 @@ public class Game {
         protected void toggleBackgroundMusic() {
             GameUtils.toggleBackgroundMusic();
             if (toggleMusicButton != null) {
-                if (GameUtils.backgroundMusic != null && GameUtils.backgroundMusic.isRunning()) {
+                if (AudioEngine.isMusicPlaying()) {
                     toggleMusicButton.setText("Stop Music");
                 } else {
                     toggleMusicButton.setText("Play Music");
@@ -493,49 +613,228 @@ public class Game {
         @Override
         public void actionPerformed(ActionEvent e) {
             JButton clickedButton = (JButton) e.getSource();
-            String selectedAnswer = clickedButton.getText();
+            int buttonIndex = 0;
+            while (optionButtons[buttonIndex] != clickedButton) {
+                buttonIndex++;
+            }
+            int optionIndex = shownQuestion.getOptionIndex(buttonIndex);
+
+            long start = System.nanoTime();
+            int questionIndex = engine.getQuestionIndex();
+            if (engine instanceof QuizClient remoteEngine) {
+                // Answered off the EDT, as it waits for the server's reply
+                pauseButton.setEnabled(false);
+                for (JButton button : optionButtons) {
+                    button.setEnabled(false);
+                }
+                CompletableFuture.supplyAsync(() -> remoteEngine.answer(optionIndex))
+                        .whenCompleteAsync((correct, failure) -> {
+                            GameUtils.resumeGame(pauseButton, optionButtons);
+                            if (failure != null) {
+                                playOffline(remoteEngine);
+                                if (engine.getStatus() == QuizEngine.Status.PLAYING) {
+                                    loadNextQuestion();
+                                } else {
+                                    showPostGameScreen(engine.getStatus() == QuizEngine.Status.WON, getDifficulty());
+                                }
+                            } else {
+                                showAnswer(clickedButton, questionIndex, optionIndex, correct, start);
+                            }
+                        }, AsyncPersistence.EDT);
+                return;
+            }
+            showAnswer(clickedButton, questionIndex, optionIndex, engine.answer(optionIndex), start);
+        }
 
-            if (selectedAnswer.equals(correctAnswers[answerIndex])) {
-                score++;
-                scoreLabel.setText("Score: " + score + "/15");
-                clickedButton.setBackground(new Color(0x0CCF6D));
+        /**
+         * Shows whether an answer was correct, then moves on to the next question or the post-game screen
+         *
+         * @param clickedButton - Option button that was clicked
+         * @param questionIndex - Question that was answered
+         * @param optionIndex - Index of the chosen option
+         * @param correct - Whether the answer was correct
+         * @param start - When the answer was clicked
+         */
+        private void showAnswer(JButton clickedButton, int questionIndex, int optionIndex, boolean correct, long start) {
+            GameEvents.AnswerSubmitted answerEvent = new GameEvents.AnswerSubmitted();
+            if (answerEvent.shouldCommit()) {
+                answerEvent.difficulty = getDifficulty();
+                answerEvent.questionIndex = questionIndex;
+                answerEvent.optionIndex = optionIndex;
+                answerEvent.correct = correct;
+                answerEvent.responseTime = start - questionShownNanos;
+                answerEvent.commit();
+            }
+
+            if (correct) {
+                scoreLabel.setText("Score: " + engine.getScore() + "/15");
+                clickedButton.setBackground(ResourceCache.color(0x0CCF6D));
                 clickedButton.setForeground(Color.BLACK);
-                JOptionPane.showMessageDialog(null, "Correct!", "Evaluation", JOptionPane.INFORMATION_MESSAGE);
+                AudioEngine.playEffect(AudioEngine.SoundEffect.CORRECT);
             }
             else {
-                lives--;
-                livesLabel.setText("Lives: " + lives);
-                clickedButton.setBackground(new Color(0xFA4848));
+                livesLabel.setText("Lives: " + engine.getLives());
+                clickedButton.setBackground(ResourceCache.color(0xFA4848));
                 clickedButton.setForeground(Color.BLACK);
-                JOptionPane.showMessageDialog(null, "Wrong!", "Evaluation", JOptionPane.INFORMATION_MESSAGE);
+                AudioEngine.playEffect(AudioEngine.SoundEffect.WRONG);
             }
-            questionIndex++;
-            answerIndex++;
-            if (questionIndex < questions.length && lives > 0) {
+            // Timed before the modal dialog, which would otherwise add the player's reading time
+            answerTimer.recordSince(start);
+            JOptionPane.showMessageDialog(null, correct ? "Correct!" : "Wrong!", "Evaluation", JOptionPane.INFORMATION_MESSAGE);
+
+            QuizEngine.Status status = engine.getStatus();
+            if (status == QuizEngine.Status.PLAYING) {
+                GameUtils.checkpointGameState(username, getDifficulty(), engine.snapshot().toGameState());
                 loadNextQuestion();
-            } else if (questionIndex == questions.length && lives > 0) {
-                showPostGameScreen(true, getDifficulty());
             } else {
-                showPostGameScreen(false, getDifficulty());
+                GameUtils.clearCheckpoints(username, getDifficulty());
+                showPostGameScreen(status == QuizEngine.Status.WON, getDifficulty());
             }
         }
 
+        /**
+         * Starts the engine from a given state, then carries on with the game on the EDT
+         * When connected to a quiz server, the game is started on the server off the EDT, connecting first if this
+         * game has no session yet, with the controls disabled until the server replies
+         * If the server cannot be reached, the game is started offline instead
+         *
+         * @param score - Starting score
+         * @param lives - Starting lives
+         * @param questionIndex - Starting question position
+         * @param then - Runs once the engine has started, unless the player has left the game by then
+         */
+        protected void startEngine(int score, int lives, int questionIndex, Runnable then) {
+            int start = ++starts;
+            if (serverAddress == null) {
+                engine.start(score, lives, questionIndex);
+                showStatus();
+                then.run();
+                return;
+            }
+
+            QuizClient session = engine instanceof QuizClient remoteEngine ? remoteEngine : null;
+            String difficulty = getDifficulty();
+            // Controls already disabled, e.g. by the pause menu, are left for it to re-enable
+            boolean controlsEnabled = pauseButton != null && pauseButton.isEnabled();
+            if (controlsEnabled) {
+                pauseButton.setEnabled(false);
+                for (JButton button : optionButtons) {
+                    button.setEnabled(false);
+                }
+            }
+            if (questionLabel != null) {
+                questionLabel.setText("Connecting to the quiz server...");
+            }
+            CompletableFuture.supplyAsync(() -> {
+                QuizClient client = session != null ? session : new QuizClient(serverAddress, username, difficulty);
+                try {
+                    client.start(score, lives, questionIndex);
+                } catch (RuntimeException e) {
+                    client.close();
+                    throw e;
+                }
+                return client;
+            }).whenCompleteAsync((client, failure) -> {
+                if (start != starts) {
+                    if (client != null) {
+                        client.close();
+                    }
+                    return;
+                }
+                if (controlsEnabled) {
+                    GameUtils.resumeGame(pauseButton, optionButtons);
+                }
+                if (failure != null) {
+                    engine = GameModes.create(difficulty, username).engine;
+                    engine.start(score, lives, questionIndex);
+                    JOptionPane.showMessageDialog(null, (session != null ? "Lost connection to"
+                            : "Could not connect to") + " the quiz server, playing offline",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    engine = client;
+                }
+                showStatus();
+                then.run();
+            }, AsyncPersistence.EDT);
+        }
+
+        /**
+         * Ends this game when the player leaves it, closing its quiz server session without starting another
+         * game on the server, and resetting a local engine
+         */
+        protected void leaveGame() {
+            starts++;
+            if (engine instanceof QuizClient remoteEngine) {
+                remoteEngine.close();
+                engine = GameModes.create(getDifficulty(), username).engine;
+            }
+            engine.start(0, initialLives(), 0);
+        }
+
+        /**
+         * Shows the engine's score and lives on the gameplay screen, if it has been bound
+         */
+        private void showStatus() {
+            if (scoreLabel != null) {
+                scoreLabel.setText("Score: " + engine.getScore() + "/15");
+                livesLabel.setText("Lives: " + engine.getLives());
+            }
+        }
+
+        /**
+         * Switches to a local engine after the quiz server fails mid-game, resuming from the last state it sent
+         * The question the failed request was about is asked again
+         *
+         * @param remoteEngine - Session on the quiz server that failed
+         */
+        protected void playOffline(QuizClient remoteEngine) {
+            remoteEngine.close();
+            QuizEngine.Snapshot snapshot = remoteEngine.snapshot();
+            engine = GameModes.create(getDifficulty(), username).engine;
+            engine.start(snapshot.getScore(), snapshot.getLives(), snapshot.getQuestionIndex());
+            showStatus();
+            JOptionPane.showMessageDialog(null, "Lost connection to the quiz server, playing offline",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
+
         /**
          * Loads next question or ends game if none remain
-         * Uses HTML styling for question text for proper display
+         * Only the question being shown is decoded from the question bank
+         * Question and option text is wrapped by WrappedText rather than HTML, so no view tree is rebuilt per question
+         * The question is normally prepared by the prefetcher while the previous one was being read, and the one after
+         * it starts being prepared as soon as it is shown
          */
         protected void loadNextQuestion() {
+            long start = System.nanoTime();
             for (JButton button : optionButtons) {
-                button.setBackground(new Color(0x004EA1));
+                button.setBackground(ResourceCache.color(0x004EA1));
                 button.setForeground(Color.WHITE);
             }
 
-            if (questionIndex < questions.length && lives > 0) {
-                questionLabel.setText("<html><div style='width: 600px; text-align: center;'>" + questions[questionIndex] + "</div></html>");
+            QuestionBank.Question currentQuestion = engine.currentQuestion();
+            if (currentQuestion != null) {
+                int questionIndex = engine.getQuestionIndex();
+                shownQuestion = questionPrefetcher.take(currentQuestion, questionIndex);
+                questionLabel.setText(shownQuestion.getQuestionLayout());
                 for (int i = 0; i < 4; i++) {
-                    optionButtons[i].setText(options[questionIndex][i]);
+                    WrappedText.Layout optionLayout = shownQuestion.getOptionLayout(i);
+                    if (optionButtons[i] instanceof GameUtils.RoundedButton roundedButton) {
+                        roundedButton.setText(optionLayout);
+                    } else {
+                        optionButtons[i].setText(optionLayout.getText());
+                    }
+                }
+                questionPrefetcher.prefetch(engine, questionIndex + 1);
+
+                questionShownNanos = System.nanoTime();
+                GameEvents.QuestionShown shownEvent = new GameEvents.QuestionShown();
+                if (shownEvent.shouldCommit()) {
+                    shownEvent.difficulty = getDifficulty();
+                    shownEvent.questionIndex = questionIndex;
+                    shownEvent.commit();
                 }
             }
+            loadQuestionTimer.recordSince(start);
         }
 
 
@@ -549,35 +848,13 @@ public class Game {
          */
         protected void showPostGameScreen(boolean isWin, String difficulty) {
             GameUtils.stopBackgroundMusic();
-            GameUtils.addScoreToLeaderboard(difficulty, username, score);
-
-            GameUtils.GradientPanel postGamePanel = new GameUtils.GradientPanel(new GridBagLayout(), Color.decode("#0A0A"), Color.decode("#8F00FF"));
-
-            GridBagConstraints gbc = GameUtils.createGridBagConstraints();
-
-            JLabel titleLabel = GameUtils.createLabel(isWin ? "Congratulations!" : "Game Over!", 25, Color.WHITE);
-            JLabel finalScoreLabel = GameUtils.createLabel("Final Score: " + score, 25, Color.WHITE);
-
-            JButton restartButton = GameUtils.createButton("Restart Game", new Dimension(550, 100),
-                    new Font("Poppins", Font.BOLD, 25), new Color(0x0FFFFF), Color.BLACK,
-                    e -> restartGame());
-
-            JButton difficultyButton = GameUtils.createButton("Choose Another Difficulty", new Dimension(550, 100),
-                    new Font("Poppins", Font.BOLD, 25), new Color(0x0FFFFF), Color.BLACK,
-                    e -> chooseDifficulty());
-
-            JButton returnButton = GameUtils.createButton("Return to Main Menu", new Dimension(550, 100),
-                    new Font("Poppins", Font.BOLD, 25), new Color(0x0FFFFF), Color.BLACK,
-                    e -> returnToMenu());
-
-            postGamePanel.add(titleLabel, gbc);
-            postGamePanel.add(finalScoreLabel, gbc);
-            postGamePanel.add(restartButton, gbc);
-            postGamePanel.add(difficultyButton, gbc);
-            postGamePanel.add(returnButton, gbc);
+            AudioEngine.playEffect(isWin ? AudioEngine.SoundEffect.WIN : AudioEngine.SoundEffect.GAME_OVER);
+            // The score is written in the background, so the screen renders immediately
+            GameUtils.addScoreToLeaderboard(difficulty, username, engine.getScore());
 
-            panel.add(postGamePanel, isWin ? "You Win" : "GameOver");
-            cardLayout.show(panel, isWin ? "You Win" : "GameOver");
+            PostGameScreen postGameScreen = screens.get("PostGameScreen");
+            postGameScreen.bind(this, isWin);
+            screens.show("PostGameScreen");
         }
 
         /**
@@ -585,15 +862,11 @@ public class Game {
          */
         protected void restartGame() {
             GameUtils.stopBackgroundMusic();
-            score = 0;
-            questionIndex = 0;
-            answerIndex = 0;
-            lives = initialLives();
-            scoreLabel.setText("Score: " + score);
-            livesLabel.setText("Lives: " + lives);
-            loadNextQuestion();
-            GameUtils.playBackgroundMusic("assets//Itty Bitty.wav");
-            cardLayout.show(panel, "GameScreen");
+            showGameScreen();
+            startEngine(0, initialLives(), 0, () -> {
+                loadNextQuestion();
+                GameUtils.playBackgroundMusic("assets//Itty Bitty.wav");
+            });
         }
 
         /**
@@ -601,10 +874,8 @@ public class Game {
          */
         protected void chooseDifficulty() {
             GameUtils.stopBackgroundMusic();
-            score = 0;
-            questionIndex = 0;
-            answerIndex = 0;
-            cardLayout.show(panel, "GameSelection");
+            leaveGame();
+            screens.show("GameSelection");
         }
 
         /**
@@ -612,10 +883,152 @@ public class Game {
          */
         protected void returnToMenu() {
             GameUtils.stopBackgroundMusic();
-            score = 0;
-            questionIndex = 0;
-            answerIndex = 0;
-            cardLayout.show(panel, "StartScreen");
+            leaveGame();
+            screens.show("StartScreen");
+        }
+    }
+
+
+    /**
+     * Shared gameplay screen, built once and bound to whichever game is being played
+     */
+    protected static class GameplayScreen extends GameUtils.GradientPanel {
+        private static final long serialVersionUID = 1L;
+
+        protected transient Base base;
+        protected JButton pauseButton;
+        protected JLabel scoreLabel;
+        protected JLabel livesLabel;
+        protected WrappedText questionLabel;
+        protected JButton[] optionButtons = new JButton[4];
+        protected transient QuestionPrefetcher questionPrefetcher;
+
+        /**
+         * Creates the gameplay screen's components
+         */
+        public GameplayScreen() {
+            super(new BorderLayout(), ResourceCache.color("#F0F0F0"), ResourceCache.color("#D8D8FF"));
+
+            JPanel questionPanel = GameUtils.createPanel(new GridBagLayout(), false);
+
+            GridBagConstraints gbc = GameUtils.createGridBagConstraints();
+
+            questionLabel = new WrappedText(600, 25, Color.BLACK);
+            gbc.weighty = 1;
+            gbc.insets = new Insets(10, 10, 10, 10);
+            questionPanel.add(questionLabel, gbc);
+
+            gbc.insets = new Insets(-70, 50, 0, 50);
+            gbc.fill = GridBagConstraints.NONE;
+
+            for (int i = 0; i < 4; i++) {
+                optionButtons[i] = GameUtils.createWrappingButton("", new Dimension(400, 200), ResourceCache.font("Roboto",
+                        Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE, e -> base.actionPerformed(e));
+                gbc.gridx = i % 2;
+                gbc.gridy = i / 2 + 1;
+                gbc.gridwidth = 1;
+                questionPanel.add(optionButtons[i], gbc);
+            }
+            questionPrefetcher = new QuestionPrefetcher(questionLabel, (GameUtils.RoundedButton) optionButtons[0]);
+
+            JPanel pausePanel = GameUtils.createPanel(new GridBagLayout(), false);
+            pausePanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+            pauseButton = GameUtils.createButton("Pause", new Dimension(100, 30),
+                    ResourceCache.font("Roboto Mono", Font.BOLD, 20), ResourceCache.color(0x004EA1), Color.WHITE,
+                    e -> base.showPauseMenu());
+            pausePanel.add(pauseButton, new GridBagConstraints());
+
+            JPanel infoPanel = GameUtils.createPanel(new GridBagLayout(), false);
+            infoPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+            JPanel labelsPanel = GameUtils.createPanel(new FlowLayout(FlowLayout.CENTER, 20, 0), false);
+            scoreLabel = GameUtils.createLabel("", 20, Color.BLACK);
+            livesLabel = GameUtils.createLabel("", 20, Color.BLACK);
+            labelsPanel.add(scoreLabel);
+            labelsPanel.add(livesLabel);
+
+            infoPanel.add(labelsPanel, new GridBagConstraints());
+
+            JPanel topPanel = GameUtils.createPanel(new BorderLayout(), false);
+            topPanel.add(pausePanel, BorderLayout.NORTH);
+            topPanel.add(infoPanel, BorderLayout.CENTER);
+
+            add(topPanel, BorderLayout.NORTH);
+            add(questionPanel, BorderLayout.CENTER);
+        }
+
+        /**
+         * Points the screen's buttons at a game and hands the game its labels and buttons
+         * Controls left disabled by a previous game's pause menu are re-enabled
+         *
+         * @param base - Game to bind to
+         */
+        protected void bind(Base base) {
+            this.base = base;
+            base.pauseButton = pauseButton;
+            base.scoreLabel = scoreLabel;
+            base.livesLabel = livesLabel;
+            base.questionLabel = questionLabel;
+            base.optionButtons = optionButtons;
+            base.questionPrefetcher = questionPrefetcher;
+
+            scoreLabel.setText("Score: " + base.engine.getScore() + "/15");
+            livesLabel.setText("Lives: " + base.engine.getLives());
+            GameUtils.resumeGame(pauseButton, optionButtons);
+        }
+    }
+
+    /**
+     * Shared post-game screen, rebound to the finished game each time it is shown
+     */
+    protected static class PostGameScreen extends GameUtils.GradientPanel {
+        private static final long serialVersionUID = 1L;
+
+        protected transient Base base;
+        protected JLabel titleLabel;
+        protected JLabel finalScoreLabel;
+
+        /**
+         * Creates the post-game screen's components
+         */
+        public PostGameScreen() {
+            super(new GridBagLayout(), ResourceCache.color("#0A0A"), ResourceCache.color("#8F00FF"));
+
+            GridBagConstraints gbc = GameUtils.createGridBagConstraints();
+
+            titleLabel = GameUtils.createLabel("", 25, Color.WHITE);
+            finalScoreLabel = GameUtils.createLabel("", 25, Color.WHITE);
+
+            JButton restartButton = GameUtils.createButton("Restart Game", new Dimension(550, 100),
+                    ResourceCache.font("Poppins", Font.BOLD, 25), ResourceCache.color(0x0FFFFF), Color.BLACK,
+                    e -> base.restartGame());
+
+            JButton difficultyButton = GameUtils.createButton("Choose Another Difficulty", new Dimension(550, 100),
+                    ResourceCache.font("Poppins", Font.BOLD, 25), ResourceCache.color(0x0FFFFF), Color.BLACK,
+                    e -> base.chooseDifficulty());
+
+            JButton returnButton = GameUtils.createButton("Return to Main Menu", new Dimension(550, 100),
+                    ResourceCache.font("Poppins", Font.BOLD, 25), ResourceCache.color(0x0FFFFF), Color.BLACK,
+                    e -> base.returnToMenu());
+
+            add(titleLabel, gbc);
+            add(finalScoreLabel, gbc);
+            add(restartButton, gbc);
+            add(difficultyButton, gbc);
+            add(returnButton, gbc);
+        }
+
+        /**
+         * Shows a finished game's result
+         *
+         * @param base - Finished game
+         * @param isWin - true if player completed all questions, false if lost all lives
+         */
+        protected void bind(Base base, boolean isWin) {
+            this.base = base;
+            titleLabel.setText(isWin ? "Congratulations!" : "Game Over!");
+            finalScoreLabel.setText("Final Score: " + base.engine.getScore());
         }
     }
-}
\ No newline at end of file
+}
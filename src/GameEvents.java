@@ -0,0 +1,122 @@
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder events for the game lifecycle
+ * The events are disabled unless a recording enables them, e.g. with the bundled profile:
+ *   java -XX:StartFlightRecording:settings=default,settings=jfr/queeze.jfc,filename=queeze.jfr Game
+ * When disabled, creating and committing an event compiles down to a flag check, so emitting them costs
+ * essentially nothing outside a recording
+ * Save and leaderboard events span from the request on the Event Dispatch Thread to the write completing
+ * on the persistence thread
+ */
+public class GameEvents {
+    @Name("queeze.QuestionShown")
+    @Label("Question Shown")
+    @Category("Queeze")
+    @Enabled(false)
+    @StackTrace(false)
+    protected static class QuestionShown extends Event {
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Question Index")
+        int questionIndex;
+    }
+
+    @Name("queeze.AnswerSubmitted")
+    @Label("Answer Submitted")
+    @Category("Queeze")
+    @Enabled(false)
+    @StackTrace(false)
+    protected static class AnswerSubmitted extends Event {
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Question Index")
+        int questionIndex;
+
+        @Label("Option Index")
+        int optionIndex;
+
+        @Label("Correct")
+        boolean correct;
+
+        @Label("Response Time")
+        @Description("Time from the question being shown to the answer being clicked")
+        @Timespan(Timespan.NANOSECONDS)
+        long responseTime;
+    }
+
+    @Name("queeze.SaveWritten")
+    @Label("Save Written")
+    @Category("Queeze")
+    @Enabled(false)
+    @StackTrace(false)
+    protected static class SaveWritten extends Event {
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Save Slot")
+        int saveSlot;
+
+        @Label("Question Index")
+        int questionIndex;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("queeze.SaveLoaded")
+    @Label("Save Loaded")
+    @Category("Queeze")
+    @Enabled(false)
+    @StackTrace(false)
+    protected static class SaveLoaded extends Event {
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Found")
+        @Description("Whether the player had a save or checkpoint for the difficulty")
+        boolean found;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("queeze.LeaderboardUpdated")
+    @Label("Leaderboard Updated")
+    @Category("Queeze")
+    @Enabled(false)
+    @StackTrace(false)
+    protected static class LeaderboardUpdated extends Event {
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Score")
+        int score;
+
+        @Label("New Best")
+        @Description("Whether the score replaced the player's previous best")
+        boolean improved;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("queeze.ScreenSwitched")
+    @Label("Screen Switched")
+    @Category("Queeze")
+    @Enabled(false)
+    @StackTrace(false)
+    protected static class ScreenSwitched extends Event {
+        @Label("Screen")
+        String screen;
+
+        @Label("Previous Screen")
+        String previousScreen;
+
+        @Label("Built")
+        @Description("Whether the screen had to be built because it was not live")
+        boolean built;
+    }
+}
@@ -7,6 +7,44 @@
  */
 
 public class GameModes {
+    /**
+     * Creates the game mode for a difficulty
+     *
+     * @param difficulty - Game difficulty level
+     * @param username - Player's username
+     * @return the game mode
+     */
+    protected static Game.Base create(String difficulty, String username) {
+        switch (difficulty) {
+            case "Easy":
+                return new EasyMode(username);
+            case "Normal":
+                return new NormalMode(username);
+            case "Hard":
+                return new HardMode(username);
+            default:
+                throw new IllegalArgumentException("Invalid difficulty: " + difficulty);
+        }
+    }
+
+    /**
+     * Gets the encoder for a difficulty's built-in questions, without creating its game mode
+     *
+     * @param difficulty - Game difficulty level
+     * @return the game mode's question encoder
+     */
+    protected static QuestionBank.Source questionSource(String difficulty) {
+        switch (difficulty) {
+            case "Easy":
+                return EasyMode::encodeDefaultQuestions;
+            case "Normal":
+                return NormalMode::encodeDefaultQuestions;
+            case "Hard":
+                return HardMode::encodeDefaultQuestions;
+            default:
+                throw new IllegalArgumentException("Invalid difficulty: " + difficulty);
+        }
+    }
 
     public static class EasyMode extends Game.Base {
         /**
@@ -17,8 +55,17 @@ public class GameModes {
          */
         public EasyMode(String username) {
             super(username);
-            this.lives = initialLives();
-            this.questions = new String[] {
+            this.engine = new QuizEngine(QuestionBank.forDifficulty(getDifficulty(), EasyMode::encodeDefaultQuestions),
+                    initialLives());
+        }
+
+        /**
+         * Encodes the built-in easy mode questions as a question bank file
+         *
+         * @return the bank file's contents
+         */
+        private static byte[] encodeDefaultQuestions() {
+            String[] questions = {
                     "Which statement can also be used to jump out of a loop?",
                     "Which keyword is used to create an object?",
                     "Which of these is a relational database management system?",
@@ -36,7 +83,7 @@ public class GameModes {
                     "Which data type is used for whole numbers?"
             };
 
-            this.options = new String[][] {
+            String[][] options = {
                     {"break", "next", "return", "stop"},
                     {"new", "create", "object", "instance"},
                     {"MySQL", "MongoDB", "Redis", "Cassandra"},
@@ -56,9 +103,11 @@ public class GameModes {
 
             };
 
-            this.correctAnswers = new String[] {"break", "new", "MySQL", "Guido van Rossum", "Uniform Resource Locator", "Bit",
-                                                 "5", "Central Processing Unit", "Windows 11", "# text", "8", "Charles Babbage",
-                                                 "John Mauchly & J. Presper Eckert", "class", "int"};
+            String[] correctAnswers = {"break", "new", "MySQL", "Guido van Rossum", "Uniform Resource Locator", "Bit",
+                                       "5", "Central Processing Unit", "Windows 11", "# text", "8", "Charles Babbage",
+                                       "John Mauchly & J. Presper Eckert", "class", "int"};
+
+            return QuestionBank.encode(questions, options, correctAnswers);
         }
 
         @Override
@@ -83,18 +132,27 @@ public class GameModes {
          */
         public NormalMode(String username) {
             super(username);
-            this.lives = initialLives();
-            this.questions = new String[] {
+            this.engine = new QuizEngine(QuestionBank.forDifficulty(getDifficulty(), NormalMode::encodeDefaultQuestions),
+                    initialLives());
+        }
+
+        /**
+         * Encodes the built-in normal mode questions as a question bank file
+         *
+         * @return the bank file's contents
+         */
+        private static byte[] encodeDefaultQuestions() {
+            String[] questions = {
                     "Which of these is a version control system?",
                     "What does API stand for?",
                     "Which of these is not a type of cyber attack?",
                     "Which of these is a NoSQL database?",
                     "Which command is used to check network connectivity in Windows?",
                     "What does the super() keyword do in a Java constructor?",
-                    "<html>What is the output of this Java code? <br>" +
-                        "String s1 = new String(\"Hello\"); <br>" +
-                        "String s2 = \"Hello\"; <br>" +
-                        "System.out.println(s1 ==s2)</html>",
+                    "What is the output of this Java code?\n" +
+                        "String s1 = new String(\"Hello\");\n" +
+                        "String s2 = \"Hello\";\n" +
+                        "System.out.println(s1 ==s2)",
                     "In Python, what is the purpose of __init__?",
                     "What does \"CMS\" stand for in web development?",
                     "What is the primary purpose of polymorphism?",
@@ -105,7 +163,7 @@ public class GameModes {
                     "Which of these is not a common cloud computing provider?"
             };
 
-            this.options = new String[][] {
+            String[][] options = {
                     {"Docker", "Kubernates", "Git", "Jenkins"},
                     {"Automated Programming Interface", "Application Programming Interface", "Advanced Protocol Integration", "Application Process Integration"},
                     {"Phishing", "Spoofing", "Defragmenting", "DDoS"},
@@ -123,11 +181,13 @@ public class GameModes {
                     {"AWS", "Azure", "Google Cloud", "Oracle"}
             };
 
-            this.correctAnswers = new String[] {"Git", "Application Programming Interface", "Defragmenting", "MongoDB", "ping",
-                                                "Calls the parent class constructor", "Error", "To initialize a class' attributes",
-                                                "Content Management System", "To allow a method to operate on different data types",
-                                                "Temporary storage for frequently accessed data", "The current class object", "192.168.1.1",
-                                                "To handle exceptions", "Oracle"};
+            String[] correctAnswers = {"Git", "Application Programming Interface", "Defragmenting", "MongoDB", "ping",
+                                       "Call the parent class constructor", "Error", "To initialize a class' attributes",
+                                       "Content Management System", "To allow a method to operate on different data types",
+                                       "Temporary storage for frequently accessed data", "The current class object", "192.168.1.1",
+                                       "To handle exceptions", "Oracle"};
+
+            return QuestionBank.encode(questions, options, correctAnswers);
         }
 
         @Override
@@ -152,8 +212,17 @@ public class GameModes {
              * @param username - Player's username
              */
             super(username);
-            this.lives = initialLives();
-            this.questions = new String[]{
+            this.engine = new QuizEngine(QuestionBank.forDifficulty(getDifficulty(), HardMode::encodeDefaultQuestions),
+                    initialLives());
+        }
+
+        /**
+         * Encodes the built-in hard mode questions as a question bank file
+         *
+         * @return the bank file's contents
+         */
+        private static byte[] encodeDefaultQuestions() {
+            String[] questions = {
                     "What is the time complexity of a binary search?",
                     "Which data structure uses LIFO (Last In First Out)?",
                     "What is the primary advantage of NVMe over SATA for SSDs?",
@@ -171,7 +240,7 @@ public class GameModes {
                     "Why do GPUs excel at deep learning?"
             };
 
-            this.options = new String[][]{
+            String[][] options = {
                     {"O(1)", "O(log n)", "O(n)", "0(n^2)"},
                     {"Queue", "Stack", "Array", "LinkedList"},
                     {"Lower power consumption", "Higher maximum throughput", "Compatibility with older systems", "Larger storage capacity"},
@@ -189,10 +258,12 @@ public class GameModes {
                     {"Massive parallelism for matrices", "Higher clock speeds", "More precise math", "Better branching"},
             };
 
-            this.correctAnswers = new String[] {"O(log n)", "Stack", "Higher maximum throughput", "Measure of randomness in data",
-                                                "Singleton", "Automatic memory management", "Compiler", "Computing on encrypted data",
-                                                "Branch mispredictions", "Memory leaks", "A kernel-level crash", "Shortest Job First",
-                                                "Blockchain", "Bubble Sort", "Massive parallelism for matrices"};
+            String[] correctAnswers = {"O(log n)", "Stack", "Higher maximum throughput", "Measure of randomness in data",
+                                       "Singleton", "Automatic memory management", "Compiler", "Computing on encrypted data",
+                                       "Branch mispredictions", "Memory leaks", "A kernel-level crash", "Shortest Job First",
+                                       "Blockchain", "Bubble Sort", "Massive parallelism for matrices"};
+
+            return QuestionBank.encode(questions, options, correctAnswers);
         }
 
         @Override
@@ -1,17 +1,18 @@
 import javax.swing.*;
+import javax.swing.border.Border;
 import java.awt.*;
-import java.io.*;
-import java.util.List;
 import java.util.ArrayList;
-import javax.sound.sampled.*;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
 
 public class GameUtils {
     protected static JLayeredPane layeredPane = new JLayeredPane();
     protected static JPanel overlayPanel = new JPanel();
-
-    protected static Clip backgroundMusic;
-    protected static long pauseTime;
+    private static final Color OVERLAY_COLOR = new Color(0, 0, 0, 150);
 
     //UI METHODS//
 
@@ -38,7 +39,7 @@ public class GameUtils {
      */
     protected static JLabel createLabel(String text, int fontSize, Color color) {
         JLabel label = new JLabel(text, SwingConstants.CENTER);
-        label.setFont(new Font("Poppins", Font.BOLD, fontSize));
+        label.setFont(ResourceCache.font("Poppins", Font.BOLD, fontSize));
         label.setForeground(color);
         return label;
     }
@@ -67,6 +68,23 @@ public class GameUtils {
         return button;
     }
 
+    /**
+     * Creates a standardized rounded button whose text wraps onto several lines instead of being cut off
+     *
+     * @param text - Text to display in the button
+     * @param size - Preferred button dimensions
+     * @param font - Font of text
+     * @param bgColor - Background color
+     * @param fgColor - Text color
+     * @param action - ActionListener to handle button clicks
+     * @return configured JButton
+     */
+    protected static JButton createWrappingButton(String text, Dimension size, Font font, Color bgColor, Color fgColor, java.awt.event.ActionListener action) {
+        RoundedButton button = (RoundedButton) createButton(text, size, font, bgColor, fgColor, action);
+        button.setWrapText(true);
+        return button;
+    }
+
     /**
      * Creates a standardized panel for the entire game
      *
@@ -84,17 +102,16 @@ public class GameUtils {
      * Creates a standardized panel with a return button
      *
      * @param screenName - Screen to return to
-     * @param panel - The frame's main panel
-     * @param cardLayout - The frame's CardLayout
+     * @param screens - The frame's screen registry
      * @return configured return panel with return button
      */
-    protected static JPanel createReturnPanel(String screenName, JPanel panel, CardLayout cardLayout) {
+    protected static JPanel createReturnPanel(String screenName, ScreenRegistry screens) {
         JPanel topPanel = createPanel(new FlowLayout(FlowLayout.LEFT), false);
         topPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
         JButton returnButton = createButton("Return", new Dimension(100, 50),
-                new Font("Poppins", Font.BOLD, 20), new Color(0x0FFFFF), Color.BLACK,
-                e -> cardLayout.show(panel, screenName));
+                ResourceCache.font("Poppins", Font.BOLD, 20), ResourceCache.color(0x0FFFFF), Color.BLACK,
+                e -> screens.show(screenName));
         topPanel.add(returnButton);
 
         return topPanel;
@@ -112,7 +129,7 @@ public class GameUtils {
         String[] difficulties = {"Easy", "Normal", "Hard"};
         for (String difficulty : difficulties) {
             JButton button = createButton(difficulty, new Dimension(400, 120),
-                    new Font("Poppins", Font.BOLD, 30), new Color(0x0FFFFF), Color.BLACK,
+                    ResourceCache.font("Poppins", Font.BOLD, 30), ResourceCache.color(0x0FFFFF), Color.BLACK,
                     e -> {
                         if (isLeaderboard) {
                             game.showLeaderboard(difficulty);
@@ -141,7 +158,7 @@ public class GameUtils {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                g.setColor(new Color(0, 0, 0, 150));
+                g.setColor(OVERLAY_COLOR);
                 g.fillRect(0, 0, getWidth(), getHeight());
             }
 
@@ -198,55 +215,33 @@ public class GameUtils {
 
     /**
      * Plays background music from specified file in continuous loop
+     * The file is streamed by the audio engine's own thread rather than decoded up front
      *
      * @param filePath - path to audio file
      */
     protected static void playBackgroundMusic(String filePath) {
-        try {
-            File musicFile = new File(filePath);
-            if (musicFile.exists()) {
-                AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(musicFile);
-                backgroundMusic = AudioSystem.getClip();
-                backgroundMusic.open(audioInputStream);
-                backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
-                backgroundMusic.start();
-            } else {
-                System.out.println("Background music file not found: " + filePath);
-            }
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            e.printStackTrace();
-        }
+        AudioEngine.playMusic(filePath);
     }
 
     /**
      * Pauses currently playing background music while remembering position
      */
     protected static void pauseBackgroundMusic() {
-        if (backgroundMusic != null && backgroundMusic.isRunning()) {
-            pauseTime = backgroundMusic.getMicrosecondPosition();
-            backgroundMusic.stop();
-        }
+        AudioEngine.pauseMusic();
     }
 
     /**
      * Resumes background music from last paused position
      */
     protected static void resumeBackgroundMusic() {
-        if (backgroundMusic != null && !backgroundMusic.isRunning() && pauseTime > 0) {
-            backgroundMusic.setMicrosecondPosition(pauseTime);
-            backgroundMusic.start();
-        }
+        AudioEngine.resumeMusic();
     }
 
     /**
      * Completely stops background music
      */
     protected static void stopBackgroundMusic() {
-        if (backgroundMusic != null) {
-            backgroundMusic.stop();
-            backgroundMusic.close();
-            pauseTime = 0;
-        }
+        AudioEngine.stopMusic();
     }
 
     /**
@@ -256,9 +251,9 @@ public class GameUtils {
      * - Resume (if paused)
      */
     protected static void toggleBackgroundMusic() {
-        if (backgroundMusic == null || !backgroundMusic.isOpen()) {
+        if (!AudioEngine.isMusicLoaded()) {
             playBackgroundMusic("Assets//Itty Bitty.wav");
-        } else if (backgroundMusic.isRunning()) {
+        } else if (AudioEngine.isMusicPlaying()) {
             pauseBackgroundMusic();
         } else {
             resumeBackgroundMusic();
@@ -270,57 +265,35 @@ public class GameUtils {
 
     /**
      * Manages leaderboard scores for different difficulty levels
-     * Creates a "scores" directory if it doesn't exist and maintains separate score files for each difficulty
-     * Saves files stored in .txt files
+     * Scores are appended to a per-difficulty log in the "scores" directory (see Leaderboard)
      * Scores format "username:score" (saved per line)
      * For existing users, updates their score only if the new score is higher
      * For new users, adds their score to the leaderboard
+     * The score is written in the background (see AsyncPersistence)
      *
      * @param difficulty - Game difficulty level
      * @param username - Player's username
      * @param score - Player's current score
+     * @return future completed with true if the player's best score changed
      */
-    protected static void addScoreToLeaderboard(String difficulty, String username, int score) {
-        List<PlayerScore> scores = new ArrayList<>();
-        String filePath = "scores//" + difficulty.toLowerCase() + " mode scores.txt";
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] variables = line.split(":");
-                if (variables.length == 2) {
-                    String existingUsername = variables[0];
-                    int existingScore = Integer.parseInt(variables[1]);
-                        scores.add(new PlayerScore(existingUsername, existingScore));
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        boolean userExists = false;
-        for (PlayerScore playerScore : scores) {
-            if (playerScore.getUsername().equals(username)) {
-                userExists = true;
-                if (score > playerScore.getScore()) {
-                    playerScore.score = score;
-                }
-                break;
+    protected static CompletableFuture<Boolean> addScoreToLeaderboard(String difficulty, String username, int score) {
+        GameEvents.LeaderboardUpdated event = new GameEvents.LeaderboardUpdated();
+        event.begin();
+        CompletableFuture<Boolean> update = AsyncPersistence.addScoreToLeaderboard(difficulty, username, score);
+        update.whenComplete((improved, e) -> {
+            if (event.shouldCommit()) {
+                event.difficulty = difficulty;
+                event.score = score;
+                event.improved = e == null && improved;
+                event.success = e == null;
+                event.commit();
             }
-        }
-
-        if (!userExists) {
-            scores.add(new PlayerScore(username, score));
-        }
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (PlayerScore playerScore : scores) {
-                writer.write(playerScore.getUsername() + ":" + playerScore.getScore());
-                writer.newLine();
-            }
-        } catch (IOException e) {
+        });
+        update.exceptionally(e -> {
             e.printStackTrace();
-        }
+            return false;
+        });
+        return update;
     }
 
     /**
@@ -328,159 +301,120 @@ public class GameUtils {
      * Scores are returned in descending order
      *
      * @param difficulty - Game difficulty to retrieve scores for
-     * @return list of sorted player scores
+     * @return future completed with the list of sorted player scores
      */
-    protected static List<PlayerScore> getPlayerScore(String difficulty) {
-        List<PlayerScore> scores = new ArrayList<>();
-        String filePath = "scores//" + difficulty.toLowerCase() + " mode scores.txt";
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] variables = line.split(":");
-                if (variables.length == 2) {
-                    String username = variables[0];
-                    int score = Integer.parseInt(variables[1]);
-                    scores.add(new PlayerScore(username, score));
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        scores.sort((playerScore1, playerScore2) -> Integer.compare(playerScore2.getScore(), playerScore1.getScore()));
-        return scores;
+    protected static CompletableFuture<List<PlayerScore>> getPlayerScore(String difficulty) {
+        return AsyncPersistence.getPlayerScore(difficulty);
     }
 
 
     /**
      * Saves the current game state for a player
-     * Creates a "saves" directory if it doesn't exist and maintains separate save files for each difficulty
-     * Save files stored in .txt files
-     * Save format: "username:score:lives:questionIndex" (saved per line)
-     * Only one save slot is allowed per player - new saves overwrite previous ones
+     * Saves are kept in a per-difficulty binary save store in the "saves" directory (see SaveStore)
+     * Each player has several save slots, and the player picks which one the new save replaces
+     * The save slots are listed and the save is written in the background, with the dialogs shown once each completes
      *
      * @param username - Player's username to save
      * @param score - Current score to save
      * @param lives - Remaining lives to save
      * @param questionIndex - Current question index/position to save
      * @param difficulty - Game difficulty level to save to
-     * @param panel - UI navigation
-     * @param cardLayout - Screen Transitions
+     * @param screens - UI navigation and screen transitions
      */
     protected static void saveGameState(String username, int score, int lives, int questionIndex,
-                                        String difficulty, JPanel panel, CardLayout cardLayout) {
-        File savesDirectory = new File("saves");
-        if (!savesDirectory.exists()) {
-            savesDirectory.mkdirs();
-        }
-
-        String saveFilePath = "saves//" + difficulty.toLowerCase() + " mode saves.txt";
-        File saveFile = new File(saveFilePath);
-
-        List<String> lines = new ArrayList<>();
-        boolean userExists = false;
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(saveFile))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] variables = line.split(":");
-                if (variables.length == 4 && variables[0].equals(username)) {
-                    lines.add(username + ":" + score + ":" + lives + ":" + questionIndex);
-                    userExists = true;
-                } else {
-                    lines.add(line);
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(null, "Failed to read save file",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
+                                        String difficulty, ScreenRegistry screens) {
+        AsyncPersistence.listGameStates(username, difficulty)
+                .whenCompleteAsync((saves, e) -> {
+                    if (e != null) {
+                        e.printStackTrace();
+                        JOptionPane.showMessageDialog(null, "Failed to read the save file.",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
 
-        if (!userExists) {
-            lines.add(username + ":" + score + ":" + lives + ":" + questionIndex);
-        }
+                    SaveChoice choice = chooseSave("Choose a save slot to save to", "Save Game",
+                            saves.getChoices(true, false, false));
+                    if (choice != null) {
+                        writeGameState(username, difficulty, choice.getSaveSlot(),
+                                new GameState(score, lives, questionIndex), screens);
+                    }
+                }, AsyncPersistence.EDT);
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(saveFile))) {
-            for (String line : lines) {
-                writer.write(line);
-                writer.newLine();
-            }
-            JOptionPane.showMessageDialog(null, "Please note that you only get one save at a time",
-                    "Confirmation", JOptionPane.INFORMATION_MESSAGE);
-
-            int option = JOptionPane.showConfirmDialog(null, "Game saved successfully. " +
-                    "Would you like to return to the Main Menu?",
-                    "Game Saved", JOptionPane.YES_NO_OPTION);
-            if (option == JOptionPane.YES_OPTION) {
-                stopBackgroundMusic();
-                removePauseOverlay();
-                cardLayout.show(panel, "StartScreen");
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(null, "Failed to save the game",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+    private static void writeGameState(String username, String difficulty, int saveSlot, GameState gameState,
+                                       ScreenRegistry screens) {
+        GameEvents.SaveWritten event = new GameEvents.SaveWritten();
+        event.begin();
+        AsyncPersistence.saveGameState(username, difficulty, saveSlot, gameState)
+                .whenCompleteAsync((result, e) -> {
+                    if (event.shouldCommit()) {
+                        event.difficulty = difficulty;
+                        event.saveSlot = saveSlot;
+                        event.questionIndex = gameState.getQuestionIndex();
+                        event.success = e == null;
+                        event.commit();
+                    }
+                    if (e != null) {
+                        e.printStackTrace();
+                        JOptionPane.showMessageDialog(null, "Failed to save the game",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+
+                    int option = JOptionPane.showConfirmDialog(null, "Game saved successfully. " +
+                            "Would you like to return to the Main Menu?",
+                            "Game Saved", JOptionPane.YES_NO_OPTION);
+                    if (option == JOptionPane.YES_OPTION) {
+                        stopBackgroundMusic();
+                        removePauseOverlay();
+                        screens.show("StartScreen");
+                    }
+                }, AsyncPersistence.EDT);
     }
 
 
     /**
-     * Deletes a player's saved game state for the specified difficulty
-     * Searches the save file for the given username and removes their save data if found
+     * Deletes one of a player's saved game states for the specified difficulty
+     * Lists the player's save slots and removes the one they pick
      *
      * @param username - Player's username to delete
      * @param difficulty - Difficulty level of the game's save to delete
      */
     protected static void deleteGameState(String username, String difficulty) {
-        String saveFilePath = "saves//" + difficulty.toLowerCase() + " mode saves.txt";
-        File saveFile = new File(saveFilePath);
-
-        List<String> lines = new ArrayList<>();
-        boolean userExists = false;
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(saveFile))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] variables = line.split(":");
-                if (variables.length == 4 && variables[0].equals(username)) {
-                    userExists = true;
-                } else {
-                    lines.add(line);
-                }
-            }
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
-        if (!userExists) {
-            JOptionPane.showMessageDialog(null, "You currently have no recorded save file",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
-
-        else {
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(saveFile))) {
-                for (String line : lines) {
-                    writer.write(line);
-                    writer.newLine();
-                }
-                JOptionPane.showMessageDialog(null, "Your save file has been successfully deleted",
-                        "Confirmation", JOptionPane.INFORMATION_MESSAGE);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        }
+        AsyncPersistence.listGameStates(username, difficulty)
+                .thenComposeAsync(saves -> {
+                    SaveChoice[] choices = saves.getChoices(false, false, false);
+                    if (choices.length == 0) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    SaveChoice choice = chooseSave("Choose a save to delete", "Delete Save", choices);
+                    if (choice == null) {
+                        // Completed with null when the player closes the dialog without picking a save
+                        return CompletableFuture.completedFuture((Boolean) null);
+                    }
+                    return AsyncPersistence.deleteGameState(username, difficulty, choice.getSaveSlot());
+                }, AsyncPersistence.EDT)
+                .whenCompleteAsync((deleted, e) -> {
+                    if (e != null) {
+                        e.printStackTrace();
+                        JOptionPane.showMessageDialog(null, "Failed to delete the save file",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                    } else if (Boolean.FALSE.equals(deleted)) {
+                        JOptionPane.showMessageDialog(null, "You currently have no recorded save file",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                    } else if (Boolean.TRUE.equals(deleted)) {
+                        JOptionPane.showMessageDialog(null, "Your save file has been successfully deleted",
+                                "Confirmation", JOptionPane.INFORMATION_MESSAGE);
+                    }
+                }, AsyncPersistence.EDT);
     }
 
 
     /**
      * Loads a saved game state from the game class' main menu
-     * Checks for existing saves and prompts the user to either:
-     * - Load their last saved game
+     * Checks for existing saves and checkpoints and prompts the user to either:
+     * - Load one of their save slots
+     * - Restore one of their recent checkpoints
      * - Start a new game
      *
      * @param username - Player's username to search for saves
@@ -488,113 +422,130 @@ public class GameUtils {
      * @param game - The class from which to call the method
      */
     protected static void mainMenuLoadGameState(String username, String difficulty, Game game) {
-        String saveFilePath = "saves//" + difficulty.toLowerCase() + " mode saves.txt";
-        File file = new File(saveFilePath);
-
-        if (file.exists()) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(saveFilePath))) {
-                String line;
-                boolean hasSave = false;
-                while ((line = reader.readLine()) != null) {
-                    String[] variables = line.split(":");
-                    if (variables.length == 4 && variables[0].equals(username)) {
-                        hasSave = true;
-                        Object[] options = {"Yes", "Start New Game"};
-                        int option = JOptionPane.showOptionDialog(null,
-                                "You have a saved game for this difficulty. Do you want to load it?",
-                                "Load Save",
-                                JOptionPane.YES_NO_OPTION,
-                                JOptionPane.QUESTION_MESSAGE,
-                                null,
-                                options,
-                                options[0]);
-
-                        if (option == JOptionPane.YES_OPTION) {
-                            GameState gameState = new GameState(
-                                    Integer.parseInt(variables[1]),
-                                    Integer.parseInt(variables[2]),
-                                    Integer.parseInt(variables[3])
-                            );
-                            game.startWithSaveState(difficulty, gameState);
-                            return;
-                        } else if (option == JOptionPane.NO_OPTION) {
-                            game.startNewRound(difficulty);
-                            return;
-                        }
-                        break;
+        GameEvents.SaveLoaded event = new GameEvents.SaveLoaded();
+        event.begin();
+        AsyncPersistence.listGameStates(username, difficulty)
+                .whenCompleteAsync((saves, e) -> {
+                    commitSaveLoaded(event, difficulty, saves, e);
+                    if (e != null) {
+                        e.printStackTrace();
+                        JOptionPane.showMessageDialog(null, "Failed to read the save file.",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        return;
                     }
-                }
 
-                if (!hasSave) {
-                    game.startNewRound(difficulty);
-                }
+                    if (saves.isEmpty()) {
+                        game.startNewRound(difficulty);
+                        return;
+                    }
 
-            } catch (IOException ex) {
-                ex.printStackTrace();
-                JOptionPane.showMessageDialog(null, "Failed to read the save file.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
-        } else {
-            game.startNewRound(difficulty);
-        }
+                    SaveChoice choice = chooseSave("You have saved games for this difficulty. Which one do you want to load?",
+                            "Load Save", saves.getChoices(false, true, true));
+                    if (choice == null) {
+                        return;
+                    }
+                    if (choice.getGameState() != null) {
+                        game.startWithSaveState(difficulty, choice.getGameState());
+                    } else {
+                        game.startNewRound(difficulty);
+                    }
+                }, AsyncPersistence.EDT);
     }
 
 
 
+    private static void commitSaveLoaded(GameEvents.SaveLoaded event, String difficulty, SaveList saves, Throwable e) {
+        if (event.shouldCommit()) {
+            event.difficulty = difficulty;
+            event.found = saves != null && !saves.isEmpty();
+            event.success = e == null;
+            event.commit();
+        }
+    }
+
     /**
      * Loads game state during gameplay
-     * Overwrites current game parameters with saved values if user chooses to load
+     * Overwrites current game parameters with a save or checkpoint if the user picks one
      *
      * @param username - Player's username to search for saves
      * @param difficulty - Difficulty level of the game to load for saves
      * @param base - The class that the method will  modify
-     * @return true if game was loaded, false otherwise
+     * @return future completed with true if a save was picked and the game is being started from it, false otherwise
      */
-    protected static boolean gameplayLoadGameState(String username, String difficulty, Game.Base base) {
-        String saveFilePath = "saves//" + difficulty.toLowerCase() + " mode saves.txt";
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(saveFilePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] variables = line.split(":");
-                if (variables.length == 4 && variables[0].equals(username)) {
-                    int loadedScore = Integer.parseInt(variables[1]);
-                    int loadedLives = Integer.parseInt(variables[2]);
-                    int loadedQuestionIndex = Integer.parseInt(variables[3]);
-
-                    Object[] options = {"Yes", "No"};
-                    int option = JOptionPane.showOptionDialog(null,
-                            "You have a saved game for this difficulty. Do you want to load it?",
-                            "Load Save", JOptionPane.YES_NO_OPTION,
-                            JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+    protected static CompletableFuture<Boolean> gameplayLoadGameState(String username, String difficulty, Game.Base base) {
+        GameEvents.SaveLoaded event = new GameEvents.SaveLoaded();
+        event.begin();
+        return AsyncPersistence.listGameStates(username, difficulty)
+                .handleAsync((saves, e) -> {
+                    commitSaveLoaded(event, difficulty, saves, e);
+                    if (e != null) {
+                        e.printStackTrace();
+                        JOptionPane.showMessageDialog(null, "Failed to load the game",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        return false;
+                    }
 
-                    if (option == JOptionPane.YES_OPTION) {
-                        base.score = loadedScore;
-                        base.lives = loadedLives;
-                        base.questionIndex = loadedQuestionIndex;
+                    if (saves.isEmpty()) {
+                        JOptionPane.showMessageDialog(null, "You currently have no recorded save file",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        return false;
+                    }
 
-                        base.scoreLabel.setText("Score: " + loadedScore + "/15");
-                        base.livesLabel.setText("Lives: " + loadedLives);
+                    SaveChoice choice = chooseSave("Which saved game do you want to load?", "Load Save",
+                            saves.getChoices(false, true, false));
+                    if (choice == null) {
+                        return false;
+                    }
 
+                    GameState gameState = choice.getGameState();
+                    base.startEngine(gameState.getScore(), gameState.getLives(), gameState.getQuestionIndex(), () -> {
                         JOptionPane.showMessageDialog(null, "Game loaded successfully!",
                                 "Confirmation", JOptionPane.INFORMATION_MESSAGE);
                         base.loadNextQuestion();
-                        return true;
-                    }
-                    if (option == JOptionPane.NO_OPTION) {
-                        return false;
-                    }
-                }
-            }
-            JOptionPane.showMessageDialog(null, "You currently have no recorded save file",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
-        } catch (IOException e) {
+                    });
+                    return true;
+                }, AsyncPersistence.EDT);
+    }
+
+    /**
+     * Shows a dropdown of saves for the player to pick from
+     *
+     * @param message - Prompt to show
+     * @param title - Dialog title
+     * @param choices - Saves to pick from
+     * @return the picked save, or null if the dialog was closed
+     */
+    private static SaveChoice chooseSave(String message, String title, SaveChoice[] choices) {
+        return (SaveChoice) JOptionPane.showInputDialog(null, message, title, JOptionPane.QUESTION_MESSAGE,
+                null, choices, choices[0]);
+    }
+
+    /**
+     * Records a checkpoint of a game in progress in the player's automatic save history
+     * The checkpoint is written in the background (see CheckpointLog)
+     *
+     * @param username - Player's username
+     * @param difficulty - Game difficulty level
+     * @param gameState - Game state to checkpoint
+     */
+    protected static void checkpointGameState(String username, String difficulty, GameState gameState) {
+        AsyncPersistence.checkpoint(username, difficulty, gameState).exceptionally(e -> {
             e.printStackTrace();
-            JOptionPane.showMessageDialog(null, "Failed to load the game",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
-        }
+            return null;
+        });
+    }
+
+    /**
+     * Drops a player's automatic save history once their game is over
+     *
+     * @param username - Player's username
+     * @param difficulty - Game difficulty level
+     */
+    protected static void clearCheckpoints(String username, String difficulty) {
+        AsyncPersistence.clearCheckpoints(username, difficulty).exceptionally(e -> {
+            e.printStackTrace();
+            return null;
+        });
     }
 
 
@@ -602,47 +553,228 @@ public class GameUtils {
 
     /**
      * Custom JButton that renders rounded corners and hover/click effects
+     * The rounded background and border are pre-rendered per size, colour and display scale, once for the normal
+     * look and once for the pressed look, and painted with a single image draw
+     * Buttons with the same size and colour share their images
      */
     protected static class RoundedButton extends JButton {
+        private static final long serialVersionUID = 1L;
+        private static final int MAX_CACHED_IMAGES = 64;
+        private static final Map<ButtonKey, Image> imageCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ButtonKey, Image> eldest) {
+                return size() > MAX_CACHED_IMAGES;
+            }
+        };
+        private static final BasicStroke BORDER_STROKE = new BasicStroke(2);
+
+        // Images for the current size, background and scale: [0] normal (also used when disabled), [1] pressed
+        private final transient Image[] stateImages = new Image[2];
+        private int imageWidth;
+        private int imageHeight;
+        private Color imageBackground;
+        private Color pressedBackground;
+        private transient GraphicsConfiguration imageConfiguration;
+        private double imageScale = 1;
+        // When set, the text is wrapped and painted with WrappedText instead of by the look and feel
+        private boolean wrapText;
+        // Text wrapped ahead of time, used while it still matches the button's text, font and size
+        private transient WrappedText.Layout wrappedLayout;
+        // Area the wrapped text is drawn in, and whether it and the layout need checking since the text, font,
+        // size or border changed
+        private final Rectangle textBounds = new Rectangle();
+        private boolean textLayoutStale = true;
+
         public RoundedButton(String text) {
             super(text);
             setContentAreaFilled(false);
         }
 
+        /**
+         * Sets whether long text wraps onto several lines
+         *
+         * @param wrapText - Whether to wrap the text
+         */
+        protected void setWrapText(boolean wrapText) {
+            this.wrapText = wrapText;
+            textLayoutStale = true;
+            repaint();
+        }
+
         @Override
-        protected void paintComponent(Graphics g) {
-            Graphics2D g2 = (Graphics2D) g.create();
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        public void setText(String text) {
+            textLayoutStale = true;
+            super.setText(text);
+        }
 
-            if (getModel().isPressed()) {
-                g2.setColor(getBackground().darker());
-            } else {
-                g2.setColor(getBackground());
+        @Override
+        public void setFont(Font font) {
+            textLayoutStale = true;
+            super.setFont(font);
+        }
+
+        @Override
+        public void setBorder(Border border) {
+            textLayoutStale = true;
+            super.setBorder(border);
+        }
+
+        @Override
+        public void setMargin(Insets margin) {
+            textLayoutStale = true;
+            super.setMargin(margin);
+        }
+
+        @Override
+        public void setBounds(int x, int y, int width, int height) {
+            if (width != getWidth() || height != getHeight()) {
+                textLayoutStale = true;
             }
+            super.setBounds(x, y, width, height);
+        }
 
-            g2.fill(new RoundRectangle2D.Double(1, 1, getWidth() - 3, getHeight() - 3, 20, 20));
+        /**
+         * Shows text that was already wrapped, e.g. by a background thread
+         *
+         * @param layout - Wrapped text to show
+         */
+        protected void setText(WrappedText.Layout layout) {
+            wrappedLayout = layout;
+            setText(layout.getText());
+        }
 
-            super.paintComponent(g2);
-            g2.dispose();
+        /**
+         * Gets the width at which wrapped text is broken into lines
+         *
+         * @return wrap width in pixels
+         */
+        protected int getWrapWidth() {
+            Insets insets = getInsets();
+            int width = getWidth() > 0 ? getWidth() : getPreferredSize().width;
+            return width - insets.left - insets.right;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            int width = getWidth();
+            int height = getHeight();
+            if (width > 0 && height > 0) {
+                g.drawImage(getStateImage(width, height), 0, 0, width, height, null);
+            }
+            if (wrapText) {
+                if (textLayoutStale) {
+                    updateTextLayout(width, height);
+                }
+                Color color = isEnabled() ? getForeground() : UIManager.getColor("Button.disabledText");
+                wrappedLayout.draw((Graphics2D) g, textBounds, color != null ? color : Color.GRAY);
+            } else {
+                super.paintComponent(g);
+            }
+        }
+
+        /**
+         * Recomputes the wrapped text's area, and wraps the text again unless the layout set with the text
+         * already fits it
+         */
+        private void updateTextLayout(int width, int height) {
+            Insets insets = getInsets();
+            textBounds.setBounds(insets.left, insets.top, width - insets.left - insets.right,
+                    height - insets.top - insets.bottom);
+            if (wrappedLayout == null || !wrappedLayout.matches(getText(), getFont(), textBounds.width)) {
+                wrappedLayout = WrappedText.layout(getText(), getFont(), textBounds.width);
+            }
+            textLayoutStale = false;
         }
 
         @Override
         protected void paintBorder(Graphics g) {
-            Graphics2D g2 = (Graphics2D) g.create();
+            // The border is part of the pre-rendered state image
+        }
+
+        /**
+         * Gets the image for the button's current state, only looking in the shared cache when the size,
+         * background or display changed
+         */
+        private Image getStateImage(int width, int height) {
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            if (width != imageWidth || height != imageHeight || configuration != imageConfiguration
+                    || !getBackground().equals(imageBackground)) {
+                imageWidth = width;
+                imageHeight = height;
+                imageConfiguration = configuration;
+                imageScale = configuration != null ? configuration.getDefaultTransform().getScaleX() : 1;
+                imageBackground = getBackground();
+                pressedBackground = imageBackground.darker();
+                stateImages[0] = null;
+                stateImages[1] = null;
+            }
+
+            int state = getModel().isPressed() ? 1 : 0;
+            if (stateImages[state] == null) {
+                stateImages[state] = getSharedImage(width, height, state == 1 ? pressedBackground : imageBackground);
+            }
+            return stateImages[state];
+        }
+
+        private Image getSharedImage(int width, int height, Color fill) {
+            ButtonKey key = new ButtonKey(width, height, fill.getRGB(), imageScale);
+            Image image = imageCache.get(key);
+            if (image == null) {
+                image = renderImage(width, height, fill);
+                imageCache.put(key, image);
+            }
+            return image;
+        }
+
+        private Image renderImage(int width, int height, Color fill) {
+            int pixelWidth = (int) Math.ceil(width * imageScale);
+            int pixelHeight = (int) Math.ceil(height * imageScale);
+            BufferedImage image = imageConfiguration != null
+                    ? imageConfiguration.createCompatibleImage(pixelWidth, pixelHeight, Transparency.TRANSLUCENT)
+                    : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_ARGB);
+
+            Graphics2D g2 = image.createGraphics();
+            g2.scale(imageScale, imageScale);
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            RoundRectangle2D.Double shape = new RoundRectangle2D.Double(1, 1, width - 3, height - 3, 20, 20);
+            g2.setColor(fill);
+            g2.fill(shape);
             g2.setColor(Color.BLACK);
-            g2.setStroke(new BasicStroke(2));
-            g2.draw(new RoundRectangle2D.Double(1, 1, getWidth() - 3, getHeight() - 3, 20, 20));
+            g2.setStroke(BORDER_STROKE);
+            g2.draw(shape);
             g2.dispose();
+            return image;
+        }
+
+        private record ButtonKey(int width, int height, int fillRgb, double scale) {
         }
     }
 
     /**
      * Custom JPanel that renders gradient backgrounds
+     * The gradient is rendered once per size into a compatible (and therefore accelerable) image which is then blitted
+     * on every repaint
+     * The image is rendered at the display's pixel size, so it stays sharp on scaled (HiDPI) displays
+     * Panels with the same colours, size and scale share one cached image
      */
     protected static class GradientPanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+        private static final int MAX_CACHED_GRADIENTS = 8;
+        private static final Map<GradientKey, Image> gradientCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GradientKey, Image> eldest) {
+                return size() > MAX_CACHED_GRADIENTS;
+            }
+        };
+
         Color startColor;
         Color endColor;
+        // Image for the current size and display
+        private transient Image gradientImage;
+        private int imageWidth;
+        private int imageHeight;
+        private transient GraphicsConfiguration imageConfiguration;
+        private double imageScale = 1;
 
         public GradientPanel(LayoutManager layout, Color startColor, Color endColor) {
             super(layout);
@@ -653,13 +785,55 @@ public class GameUtils {
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
-            Graphics2D g2 = (Graphics2D) g;
-            GradientPaint gradient = new GradientPaint(
-                    0, 0, startColor,
-                    getWidth(), getHeight(), endColor
-            );
-            g2.setPaint(gradient);
-            g2.fillRect(0, 0, getWidth(), getHeight());
+            int width = getWidth();
+            int height = getHeight();
+            if (width <= 0 || height <= 0) {
+                return;
+            }
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            if (gradientImage == null || width != imageWidth || height != imageHeight || configuration != imageConfiguration) {
+                imageWidth = width;
+                imageHeight = height;
+                imageConfiguration = configuration;
+                imageScale = configuration != null ? configuration.getDefaultTransform().getScaleX() : 1;
+                gradientImage = getGradientImage(width, height);
+            }
+            g.drawImage(gradientImage, 0, 0, width, height, null);
+        }
+
+        /**
+         * Gets the shared gradient image for this panel's colours at the given size and the display's scale,
+         * rendering it on a cache miss
+         *
+         * @param width - Image width
+         * @param height - Image height
+         * @return the rendered gradient
+         */
+        private Image getGradientImage(int width, int height) {
+            GradientKey key = new GradientKey(startColor.getRGB(), endColor.getRGB(), width, height, imageScale);
+            Image image = gradientCache.get(key);
+            if (image == null) {
+                boolean isOpaque = startColor.getAlpha() == 255 && endColor.getAlpha() == 255;
+                int transparency = isOpaque ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+                int pixelWidth = (int) Math.ceil(width * imageScale);
+                int pixelHeight = (int) Math.ceil(height * imageScale);
+                BufferedImage bufferedImage = imageConfiguration != null
+                        ? imageConfiguration.createCompatibleImage(pixelWidth, pixelHeight, transparency)
+                        : new BufferedImage(pixelWidth, pixelHeight, isOpaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+
+                Graphics2D g2 = bufferedImage.createGraphics();
+                g2.scale(imageScale, imageScale);
+                g2.setPaint(new GradientPaint(0, 0, startColor, width, height, endColor));
+                g2.fillRect(0, 0, width, height);
+                g2.dispose();
+
+                image = bufferedImage;
+                gradientCache.put(key, image);
+            }
+            return image;
+        }
+
+        private record GradientKey(int startRgb, int endRgb, int width, int height, double scale) {
         }
     }
 
@@ -690,6 +864,103 @@ public class GameUtils {
         }
     }
 
+    /**
+     * Data container for a player's save slots and recent checkpoints
+     */
+    protected static class SaveList {
+        GameState[] saveSlots;
+        List<GameState> checkpoints;
+
+        public SaveList(GameState[] saveSlots, List<GameState> checkpoints) {
+            this.saveSlots = saveSlots;
+            this.checkpoints = checkpoints;
+        }
+
+        public GameState[] getSaveSlots() {
+            return saveSlots;
+        }
+
+        public List<GameState> getCheckpoints() {
+            return checkpoints;
+        }
+
+        /**
+         * Checks whether the player has no saves or checkpoints
+         *
+         * @return true if there is nothing to load
+         */
+        public boolean isEmpty() {
+            for (GameState gameState : saveSlots) {
+                if (gameState != null) {
+                    return false;
+                }
+            }
+            return checkpoints.isEmpty();
+        }
+
+        /**
+         * Builds the entries of a save dropdown
+         *
+         * @param includeEmptySlots - Whether to list save slots that hold no save
+         * @param includeCheckpoints - Whether to list recent checkpoints after the save slots
+         * @param includeNewGame - Whether to end the list with a "Start New Game" entry
+         * @return the entries, in display order
+         */
+        public SaveChoice[] getChoices(boolean includeEmptySlots, boolean includeCheckpoints, boolean includeNewGame) {
+            List<SaveChoice> choices = new ArrayList<>();
+            for (int saveSlot = 0; saveSlot < saveSlots.length; saveSlot++) {
+                if (saveSlots[saveSlot] != null || includeEmptySlots) {
+                    choices.add(new SaveChoice("Slot " + (saveSlot + 1), saveSlot, saveSlots[saveSlot]));
+                }
+            }
+            if (includeCheckpoints) {
+                for (int i = 0; i < checkpoints.size(); i++) {
+                    choices.add(new SaveChoice(i == 0 ? "Latest checkpoint" : "Checkpoint " + (i + 1), -1,
+                            checkpoints.get(i)));
+                }
+            }
+            if (includeNewGame) {
+                choices.add(new SaveChoice("Start New Game", -1, null));
+            }
+            return choices.toArray(new SaveChoice[0]);
+        }
+    }
+
+    /**
+     * Data container for an entry of a save dropdown
+     */
+    protected static class SaveChoice {
+        String label;
+        int saveSlot;
+        GameState gameState;
+
+        public SaveChoice(String label, int saveSlot, GameState gameState) {
+            this.label = label;
+            this.saveSlot = saveSlot;
+            this.gameState = gameState;
+        }
+
+        public int getSaveSlot() {
+            return saveSlot;
+        }
+
+        public GameState getGameState() {
+            return gameState;
+        }
+
+        @Override
+        public String toString() {
+            if (saveSlot < 0 && gameState == null) {
+                return label;
+            }
+            if (gameState == null) {
+                return label + ": Empty";
+            }
+            return label + ": Score " + gameState.getScore() + "/15, Lives " + gameState.getLives()
+                    + ", Question " + (gameState.getQuestionIndex() + 1);
+        }
+    }
+
     /**
      * Data container for getting a player's recorded score
      */
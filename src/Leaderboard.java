@@ -0,0 +1,853 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Log-structured leaderboard for a single difficulty
+ * Each time a player improves their best score, the new score is appended to a score log (see Log)
+ * The log is replayed once per process into:
+ * - An index of each player's best score keyed by username
+ * - A ranking sorted by score (descending), then username
+ * Once the log holds more than twice as many entries as there are players it is compacted to one entry per player
+ * Appends are written behind: the index is updated at once, while new best scores are merged per player and
+ * written in batches, either once "queeze.leaderboard.batchSize" players are pending or
+ * "queeze.leaderboard.flushMillis" after the first pending score
+ * Each batch is synced to disk when "queeze.leaderboard.fsync" is true, and pending scores are flushed at shutdown
+ * Several processes can share a log: each batch is written under the log's lock, after replaying the scores other
+ * processes appended since, so no process compacts away scores it has not seen
+ * The leaderboard's monitor only guards the in-memory index, so reading the ranking (e.g. from the EDT) never waits
+ * on the disk or on another process: batches are swapped out under it and written under a separate I/O lock
+ */
+public class Leaderboard implements ScoreRepository {
+    private static final Comparator<GameUtils.PlayerScore> RANKING =
+            Comparator.comparingInt(GameUtils.PlayerScore::getScore).reversed()
+                    .thenComparing(GameUtils.PlayerScore::getUsername);
+    private static final int MIN_COMPACTION_LINES = 1024;
+    private static final int MAX_RANGE_SCAN = 4096;
+    protected static final int DEFAULT_BATCH_SIZE = 64;
+    protected static final long DEFAULT_FLUSH_MILLIS = 1000;
+    // Longest username, in UTF-8 bytes, that a binary log entry's unsigned short length can hold
+    protected static final int MAX_USERNAME_BYTES = 0xFFFF;
+    private static final long MIN_RETRY_MILLIS = 100;
+    private static final long MAX_RETRY_MILLIS = 60_000;
+
+    private static final int BATCH_SIZE = Math.max(1, Integer.getInteger("queeze.leaderboard.batchSize", DEFAULT_BATCH_SIZE));
+    private static final long FLUSH_MILLIS = Math.max(0, Long.getLong("queeze.leaderboard.flushMillis", DEFAULT_FLUSH_MILLIS));
+    private static final boolean FSYNC = Boolean.getBoolean("queeze.leaderboard.fsync");
+
+    // Every leaderboard created, so all of them can be flushed at shutdown
+    private static final List<Leaderboard> leaderboards = new ArrayList<>();
+    private static final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "queeze-leaderboard-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Set once the application is exiting, after which scores are written as soon as they are submitted
+    private static volatile boolean writeThrough;
+
+    private static final LatencyHistogram flushTimer = Metrics.timer("leaderboard.flush");
+    private static final LongAdder writtenCounter = Metrics.counter("leaderboard.scores.written");
+    private static final LongAdder mergedCounter = Metrics.counter("leaderboard.scores.merged");
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(Leaderboard::flushAll, "queeze-leaderboard-shutdown"));
+    }
+
+    private final Log log;
+    // Held around every replay and write of the log, always taken before the leaderboard's monitor
+    private final Object ioLock = new Object();
+    private final Map<String, GameUtils.PlayerScore> bestScores = new HashMap<>();
+    private final TreeSet<GameUtils.PlayerScore> ranking = new TreeSet<>(RANKING);
+    // New best scores not written to the log yet, in submission order
+    private final Map<String, GameUtils.PlayerScore> pendingScores = new LinkedHashMap<>();
+    // Snapshot of the ranking for deep pages, rebuilt after each batch or refresh rather than by the reader
+    private GameUtils.PlayerScore[] rankedScores = new GameUtils.PlayerScore[0];
+    private boolean rankingChanged;
+    private ScheduledFuture<?> scheduledFlush;
+    // Delay before retrying a batch that failed to write, 0 while writes succeed
+    private long retryMillis;
+
+    /**
+     * Creates a leaderboard, replaying its score log
+     *
+     * @param log - Score log to replay and append to
+     */
+    public Leaderboard(Log log) throws IOException {
+        this.log = log;
+        // Locked for writing, so a torn entry or a text log to import can be dealt with while replaying
+        log.lock(false);
+        try {
+            log.replay(this::index);
+        } finally {
+            log.unlock();
+        }
+        updateRankedScores();
+        synchronized (Leaderboard.class) {
+            leaderboards.add(this);
+        }
+    }
+
+    /**
+     * Creates a leaderboard that is only kept in memory
+     *
+     * @return an empty leaderboard
+     */
+    protected static Leaderboard inMemory() {
+        try {
+            return new Leaderboard(NO_LOG);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Records a score in the in-memory index if it beats the player's best
+     *
+     * @return true if the player's best score changed
+     */
+    private boolean index(String username, int score) {
+        GameUtils.PlayerScore existing = bestScores.get(username);
+        if (existing != null) {
+            if (score <= existing.getScore()) {
+                return false;
+            }
+            ranking.remove(existing);
+        }
+        GameUtils.PlayerScore playerScore = new GameUtils.PlayerScore(username, score);
+        bestScores.put(username, playerScore);
+        ranking.add(playerScore);
+        rankingChanged = true;
+        return true;
+    }
+
+    /**
+     * Submits a finished game's score
+     * For existing users, the score is only recorded if it is higher than their best
+     * For new users, the score is added to the leaderboard
+     * The ranking changes at once, while the log is written by the next batch on the flush thread
+     * Usernames longer than MAX_USERNAME_BYTES in UTF-8 are rejected, as no log could hold them
+     *
+     * @param username - Player's username
+     * @param score - Player's final score
+     * @return true if the player's best score changed
+     */
+    @Override
+    public boolean submit(String username, int score) {
+        // A UTF-8 character takes at most 3 bytes per char, so only long usernames need encoding to check
+        if (username.length() > MAX_USERNAME_BYTES / 3
+                && username.getBytes(StandardCharsets.UTF_8).length > MAX_USERNAME_BYTES) {
+            throw new IllegalArgumentException("Username is too long to record a score for");
+        }
+        synchronized (this) {
+            if (!index(username, score)) {
+                return false;
+            }
+            if (pendingScores.put(username, bestScores.get(username)) != null) {
+                mergedCounter.increment();
+            }
+            if (!writeThrough) {
+                if (retryMillis > 0) {
+                    scheduleFlush(retryMillis);
+                } else {
+                    scheduleFlush(pendingScores.size() >= BATCH_SIZE ? 0 : FLUSH_MILLIS);
+                }
+                return true;
+            }
+        }
+        flush();
+        return true;
+    }
+
+    /**
+     * Schedules a flush on the flush thread, unless one is already due sooner
+     * Must be called with the leaderboard's monitor held
+     *
+     * @param delayMillis - Delay before the flush
+     */
+    private void scheduleFlush(long delayMillis) {
+        if (scheduledFlush != null) {
+            if (scheduledFlush.getDelay(TimeUnit.MILLISECONDS) <= delayMillis) {
+                return;
+            }
+            scheduledFlush.cancel(false);
+        }
+        scheduledFlush = flushScheduler.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes pending scores to the log as one batch, then compacts the log if it has grown too long
+     * Scores other processes have written since are replayed first, under the same lock
+     * Scores that fail to write stay pending and are retried with a growing delay, up to MAX_RETRY_MILLIS
+     */
+    @Override
+    public void flush() {
+        synchronized (ioLock) {
+            List<GameUtils.PlayerScore> batch;
+            synchronized (this) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+                if (pendingScores.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pendingScores.values());
+                pendingScores.clear();
+            }
+            long start = System.nanoTime();
+            boolean appended = false;
+            try {
+                log.lock(false);
+                try {
+                    replay();
+                    log.append(batch, FSYNC);
+                    appended = true;
+                    writtenCounter.add(batch.size());
+                    List<GameUtils.PlayerScore> compacted = null;
+                    synchronized (this) {
+                        retryMillis = 0;
+                        if (log.size() > MIN_COMPACTION_LINES && log.size() > 2 * bestScores.size()) {
+                            compacted = new ArrayList<>(ranking);
+                        }
+                    }
+                    if (compacted != null) {
+                        log.rewrite(compacted, FSYNC);
+                    }
+                } finally {
+                    log.unlock();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                synchronized (this) {
+                    if (!appended) {
+                        // Scores submitted while the batch was being written are at least as high, so they are kept
+                        for (GameUtils.PlayerScore playerScore : batch) {
+                            pendingScores.putIfAbsent(playerScore.getUsername(), playerScore);
+                        }
+                    }
+                    retryMillis = Math.min(MAX_RETRY_MILLIS, Math.max(MIN_RETRY_MILLIS, 2 * retryMillis));
+                    if (!writeThrough && !pendingScores.isEmpty()) {
+                        scheduleFlush(retryMillis);
+                    }
+                }
+            } finally {
+                flushTimer.recordSince(start);
+            }
+            updateRankedScores();
+        }
+    }
+
+    /**
+     * Replays scores other processes have written to the log since it was last replayed
+     */
+    @Override
+    public void refresh() throws IOException {
+        synchronized (ioLock) {
+            log.lock(true);
+            try {
+                replay();
+            } finally {
+                log.unlock();
+            }
+            updateRankedScores();
+        }
+    }
+
+    /**
+     * Replays the log into the index, only taking the monitor once the new entries have been read
+     * Must be called with the I/O lock and the log's lock held
+     */
+    private void replay() throws IOException {
+        List<GameUtils.PlayerScore> replayed = new ArrayList<>();
+        log.replay((username, score) -> replayed.add(new GameUtils.PlayerScore(username, score)));
+        if (!replayed.isEmpty()) {
+            synchronized (this) {
+                for (GameUtils.PlayerScore playerScore : replayed) {
+                    index(playerScore.getUsername(), playerScore.getScore());
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot of the ranking if it has changed
+     */
+    private synchronized void updateRankedScores() {
+        if (rankingChanged) {
+            rankedScores = ranking.toArray(new GameUtils.PlayerScore[0]);
+            rankingChanged = false;
+        }
+    }
+
+    /**
+     * Flushes every leaderboard and switches to writing scores as they are submitted, used when the
+     * application exits
+     */
+    protected static void flushAll() {
+        writeThrough = true;
+        List<Leaderboard> created;
+        synchronized (Leaderboard.class) {
+            created = new ArrayList<>(leaderboards);
+        }
+        for (Leaderboard leaderboard : created) {
+            leaderboard.flush();
+        }
+    }
+
+    /**
+     * Gets a player's best score
+     *
+     * @param username - Player's username
+     * @return the player's score, or null if they have no recorded score
+     */
+    @Override
+    public synchronized GameUtils.PlayerScore getScore(String username) {
+        return bestScores.get(username);
+    }
+
+    /**
+     * Gets the number of players on the leaderboard
+     *
+     * @return player count
+     */
+    @Override
+    public synchronized int size() {
+        return bestScores.size();
+    }
+
+    /**
+     * Gets a page of the ranking
+     * Pages near the top are read straight from the sorted ranking, deeper pages from the latest snapshot of it,
+     * which may miss scores submitted since the last batch was written
+     *
+     * @param offset - Rank of the first entry (0 is the top scorer)
+     * @param limit - Maximum number of entries
+     * @return scores in descending order
+     */
+    @Override
+    public synchronized List<GameUtils.PlayerScore> getTopScores(int offset, int limit) {
+        int end = Math.min(ranking.size(), offset + limit);
+        if (offset >= end) {
+            return Collections.emptyList();
+        }
+        if (rankingChanged && end <= MAX_RANGE_SCAN) {
+            List<GameUtils.PlayerScore> page = new ArrayList<>(end - offset);
+            Iterator<GameUtils.PlayerScore> iterator = ranking.iterator();
+            for (int i = 0; i < end; i++) {
+                GameUtils.PlayerScore playerScore = iterator.next();
+                if (i >= offset) {
+                    page.add(playerScore);
+                }
+            }
+            return page;
+        }
+        end = Math.min(end, rankedScores.length);
+        if (offset >= end) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(rankedScores).subList(offset, end));
+    }
+
+    /**
+     * Gets the full ranking
+     *
+     * @return all scores in descending order
+     */
+    @Override
+    public synchronized List<GameUtils.PlayerScore> getScores() {
+        updateRankedScores();
+        return Collections.unmodifiableList(Arrays.asList(rankedScores));
+    }
+    /**
+     * Storage format of a score log
+     * Logs can be shared by several processes, which take the log's lock around every replay and write
+     */
+    protected interface Log {
+        /**
+         * Locks the log against other processes until unlock is called
+         *
+         * @param shared - true to replay the log, false to also append to or rewrite it
+         */
+        void lock(boolean shared) throws IOException;
+
+        /**
+         * Releases the lock taken by lock
+         */
+        void unlock() throws IOException;
+
+        /**
+         * Replays the entries this process has not seen yet: the whole log the first time, or whenever another
+         * process has replaced it, and otherwise only the entries other processes have appended since
+         *
+         * @param entry - Receives each logged username and score, oldest first
+         * @return the number of entries replayed
+         */
+        int replay(ObjIntConsumer<String> entry) throws IOException;
+
+        /**
+         * Gets the number of entries in the log, as of the last replay or write
+         *
+         * @return entry count
+         */
+        int size();
+
+        /**
+         * Appends a batch of scores
+         * Must be called with the log locked for writing, after replaying it
+         *
+         * @param scores - Scores to append
+         * @param sync - Whether to sync the batch to disk before returning
+         */
+        void append(Collection<GameUtils.PlayerScore> scores, boolean sync) throws IOException;
+
+        /**
+         * Replaces the whole log with the given scores, atomically
+         * Must be called with the log locked for writing, after replaying it
+         *
+         * @param scores - Scores to keep
+         * @param sync - Whether to sync the new log to disk before it replaces the old one
+         */
+        void rewrite(Collection<GameUtils.PlayerScore> scores, boolean sync) throws IOException;
+
+        /**
+         * Closes any open file, which is reopened by the next append
+         */
+        void close();
+    }
+
+    /**
+     * Log that keeps nothing, for leaderboards that only live in memory
+     */
+    private static final Log NO_LOG = new Log() {
+        @Override
+        public void lock(boolean shared) {
+        }
+
+        @Override
+        public void unlock() {
+        }
+
+        @Override
+        public int replay(ObjIntConsumer<String> entry) {
+            return 0;
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public void append(Collection<GameUtils.PlayerScore> scores, boolean sync) {
+        }
+
+        @Override
+        public void rewrite(Collection<GameUtils.PlayerScore> scores, boolean sync) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Log kept in a file shared with other processes through a LockFile
+     * Tracks which generation of the file it has replayed and how far, so a replay only reads what other processes
+     * wrote since
+     */
+    protected abstract static class FileLog implements Log {
+        protected final File file;
+        private final LockFile lockFile;
+        private FileLock heldLock;
+        // Generation of the file replayed so far (see LockFile), and where its replayed or written entries end
+        private long replayed = -1;
+        protected long position;
+        private int entries;
+
+        protected FileLog(File file) {
+            this.file = file;
+            this.lockFile = new LockFile(file);
+        }
+
+        @Override
+        public void lock(boolean shared) throws IOException {
+            heldLock = lockFile.lock(LockFile.FILE, shared);
+        }
+
+        @Override
+        public void unlock() throws IOException {
+            FileLock lock = heldLock;
+            heldLock = null;
+            lock.release();
+        }
+
+        /**
+         * Checks whether this process holds the log's lock for writing, which makes it safe to repair the log
+         */
+        protected boolean isWriting() {
+            return heldLock != null && heldLock.isValid() && !heldLock.isShared();
+        }
+
+        @Override
+        public int replay(ObjIntConsumer<String> entry) throws IOException {
+            long generation = lockFile.generation();
+            if (generation != replayed) {
+                // Replaced by another process, so the new file is replayed from the start
+                close();
+                replayed = generation;
+                position = 0;
+                entries = 0;
+            }
+            if (!file.exists() || file.length() == position) {
+                return 0;
+            }
+            int replayedEntries = read(entry);
+            entries += replayedEntries;
+            return replayedEntries;
+        }
+
+        /**
+         * Reads the entries after position, moving position past them
+         *
+         * @param entry - Receives each logged username and score
+         * @return the number of entries read
+         */
+        protected abstract int read(ObjIntConsumer<String> entry) throws IOException;
+
+        @Override
+        public int size() {
+            return entries;
+        }
+
+        /**
+         * Records entries this process wrote, so they are not replayed
+         *
+         * @param written - Number of entries written
+         * @param end - End of the written entries
+         */
+        protected void appended(int written, long end) {
+            entries += written;
+            position = end;
+        }
+
+        /**
+         * Records that this process replaced the log with a new file
+         *
+         * @param written - Number of entries in the new file
+         */
+        protected void replaced(int written) throws IOException {
+            replayed = lockFile.replaced();
+            position = file.length();
+            entries = written;
+        }
+    }
+
+    /**
+     * Score log of "username:score" lines, the format the scores files have always had
+     */
+    protected static class TextLog extends FileLog {
+        private FileOutputStream output;
+        private Writer writer;
+        private boolean needsNewline;
+
+        public TextLog(File file) {
+            super(file);
+        }
+
+        /**
+         * Reads lines in the "username:score" format, skipping any others
+         * A last line without a newline, e.g. from editing the file by hand, is still read
+         */
+        @Override
+        protected int read(ObjIntConsumer<String> entry) throws IOException {
+            int lines = 0;
+            try (FileInputStream input = new FileInputStream(file)) {
+                input.getChannel().position(position);
+                byte[] buffer = new byte[65536];
+                int start = 0;
+                int limit = 0;
+                while (true) {
+                    int read = input.read(buffer, limit, buffer.length - limit);
+                    if (read < 0) {
+                        break;
+                    }
+                    limit += read;
+                    for (int i = start; i < limit; i++) {
+                        if (buffer[i] == '\n') {
+                            lines += parse(buffer, start, i, entry);
+                            position += i + 1 - start;
+                            start = i + 1;
+                        }
+                    }
+                    // Keeps the unfinished line at the front of the buffer, growing it for very long lines
+                    if (start == 0 && limit == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    } else {
+                        System.arraycopy(buffer, start, buffer, 0, limit - start);
+                        limit -= start;
+                        start = 0;
+                    }
+                }
+                if (limit > start) {
+                    lines += parse(buffer, start, limit, entry);
+                    position += limit - start;
+                    needsNewline = true;
+                }
+            }
+            return lines;
+        }
+
+        private static int parse(byte[] buffer, int start, int end, ObjIntConsumer<String> entry) {
+            if (end > start && buffer[end - 1] == '\r') {
+                end--;
+            }
+            String line = new String(buffer, start, end - start, StandardCharsets.UTF_8);
+            String[] variables = line.split(":");
+            if (variables.length != 2) {
+                return 0;
+            }
+            try {
+                entry.accept(variables[0], Integer.parseInt(variables[1]));
+                return 1;
+            } catch (NumberFormatException e) {
+                System.out.println("Skipping malformed score entry: " + line);
+                return 0;
+            }
+        }
+
+        @Override
+        public void append(Collection<GameUtils.PlayerScore> scores, boolean sync) throws IOException {
+            if (writer == null) {
+                File scoresDirectory = file.getParentFile();
+                if (!scoresDirectory.exists()) {
+                    scoresDirectory.mkdirs();
+                }
+                output = new FileOutputStream(file, true);
+                writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            }
+            if (needsNewline) {
+                writer.write(System.lineSeparator());
+                needsNewline = false;
+            }
+            for (GameUtils.PlayerScore playerScore : scores) {
+                writer.write(playerScore.getUsername() + ":" + playerScore.getScore());
+                writer.write(System.lineSeparator());
+            }
+            writer.flush();
+            if (sync) {
+                output.getFD().sync();
+            }
+            appended(scores.size(), output.getChannel().size());
+        }
+
+        @Override
+        public void rewrite(Collection<GameUtils.PlayerScore> scores, boolean sync) throws IOException {
+            File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+            try (FileOutputStream tempOutput = new FileOutputStream(tempFile);
+                 BufferedWriter tempWriter = new BufferedWriter(new OutputStreamWriter(tempOutput, StandardCharsets.UTF_8))) {
+                for (GameUtils.PlayerScore playerScore : scores) {
+                    tempWriter.write(playerScore.getUsername() + ":" + playerScore.getScore());
+                    tempWriter.newLine();
+                }
+                if (sync) {
+                    tempWriter.flush();
+                    tempOutput.getFD().sync();
+                }
+            }
+            close();
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            needsNewline = false;
+            replaced(scores.size());
+        }
+
+        @Override
+        public void close() {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                writer = null;
+                output = null;
+            }
+        }
+    }
+
+    /**
+     * Binary score log, which replays without splitting or parsing text
+     * - Header: magic, version (ints)
+     * - Entry: username length (unsigned short), username (UTF-8), score (int)
+     * A torn entry at the end of the log is cut off by the next process to lock it for writing
+     * Scores from the text log are imported the first time the binary log is created
+     */
+    protected static class BinaryLog extends FileLog {
+        protected static final int MAGIC = 0x515A5343; // "QZSC"
+        protected static final int VERSION = 1;
+        protected static final int HEADER_SIZE = 8;
+
+        private final File legacyFile;
+        private FileChannel channel;
+        private ByteBuffer batch = ByteBuffer.allocate(8192);
+
+        /**
+         * Creates a binary score log
+         *
+         * @param file - Binary log file
+         * @param legacyFile - Text log to import if the binary log does not exist yet
+         */
+        public BinaryLog(File file, File legacyFile) {
+            super(file);
+            this.legacyFile = legacyFile;
+        }
+
+        @Override
+        public int replay(ObjIntConsumer<String> entry) throws IOException {
+            int imported = 0;
+            if (!file.exists() && legacyFile.exists() && isWriting()) {
+                // Imported by replaying the text log, then writing the best scores it held as the new binary log
+                Map<String, Integer> bestScores = new LinkedHashMap<>();
+                new TextLog(legacyFile).read((username, score) -> bestScores.merge(username, score, Math::max));
+                List<GameUtils.PlayerScore> scores = new ArrayList<>(bestScores.size());
+                bestScores.forEach((username, score) -> scores.add(new GameUtils.PlayerScore(username, score)));
+                rewrite(scores, true);
+                for (GameUtils.PlayerScore playerScore : scores) {
+                    entry.accept(playerScore.getUsername(), playerScore.getScore());
+                }
+                imported = scores.size();
+            }
+            return imported + super.replay(entry);
+        }
+
+        @Override
+        protected int read(ObjIntConsumer<String> entry) throws IOException {
+            int entries = 0;
+            try (FileInputStream stream = new FileInputStream(file)) {
+                DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+                if (position == 0) {
+                    if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                        throw new IOException("Not a binary score log: " + file);
+                    }
+                    position = HEADER_SIZE;
+                } else {
+                    stream.getChannel().position(position);
+                }
+                byte[] name = new byte[0xFFFF];
+                while (true) {
+                    try {
+                        int length = input.readUnsignedShort();
+                        input.readFully(name, 0, length);
+                        int score = input.readInt();
+                        entry.accept(new String(name, 0, length, StandardCharsets.UTF_8), score);
+                        entries++;
+                        position += 2 + length + 4;
+                    } catch (EOFException e) {
+                        break;
+                    }
+                }
+            }
+            // Every writer holds the lock while it appends, so a torn entry is left by one that crashed
+            if (position < file.length() && isWriting()) {
+                System.out.println("Discarding a torn score entry at the end of " + file);
+                try (FileChannel output = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                    output.truncate(position);
+                }
+            }
+            return entries;
+        }
+
+        @Override
+        public void append(Collection<GameUtils.PlayerScore> scores, boolean sync) throws IOException {
+            if (channel == null) {
+                if (!file.exists()) {
+                    rewrite(Collections.emptyList(), sync);
+                }
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            write(channel, scores);
+            if (sync) {
+                channel.force(false);
+            }
+            appended(scores.size(), channel.size());
+        }
+
+        @Override
+        public void rewrite(Collection<GameUtils.PlayerScore> scores, boolean sync) throws IOException {
+            File scoresDirectory = file.getParentFile();
+            if (!scoresDirectory.exists()) {
+                scoresDirectory.mkdirs();
+            }
+            File tempFile = new File(scoresDirectory, file.getName() + ".tmp");
+            try (FileChannel output = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                output.write(header);
+                write(output, scores);
+                if (sync) {
+                    output.force(true);
+                }
+            }
+            close();
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            replaced(scores.size());
+        }
+
+        /**
+         * Encodes scores into the batch buffer and writes them, growing the buffer for large batches
+         * A username too long for its length field, e.g. from an edited text log being imported, is skipped rather
+         * than written as an entry that would read back torn
+         */
+        private void write(FileChannel output, Collection<GameUtils.PlayerScore> scores) throws IOException {
+            batch.clear();
+            for (GameUtils.PlayerScore playerScore : scores) {
+                byte[] name = playerScore.getUsername().getBytes(StandardCharsets.UTF_8);
+                if (name.length > MAX_USERNAME_BYTES) {
+                    System.out.println("Skipping a score whose username is too long to log: " + name.length + " bytes");
+                    continue;
+                }
+                if (batch.remaining() < 2 + name.length + 4) {
+                    batch.flip();
+                    while (batch.hasRemaining()) {
+                        output.write(batch);
+                    }
+                    batch.clear();
+                    if (batch.capacity() < 2 + name.length + 4) {
+                        batch = ByteBuffer.allocate(2 + name.length + 4);
+                    }
+                }
+                // Within MAX_USERNAME_BYTES, so the cast keeps every bit and the length reads back unsigned
+                batch.putShort((short) name.length).put(name).putInt(playerScore.getScore());
+            }
+            batch.flip();
+            while (batch.hasRemaining()) {
+                output.write(batch);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Virtualized leaderboard list
+ * Only the visible rows are rendered, using a single shared cell renderer
+ * Rows are paged in from the leaderboard on demand instead of being loaded up front
+ * Adds crown symbol (♛) for either the top scorer or those with the highest possible scores (15)
+ */
+public class LeaderboardList extends JList<GameUtils.PlayerScore> {
+    private static final long serialVersionUID = 1L;
+    protected static final int ROW_HEIGHT = 45;
+    protected static final int ROW_WIDTH = 600;
+
+    /**
+     * Creates an empty leaderboard list, to be pointed at a leaderboard later
+     */
+    public LeaderboardList() {
+        setOpaque(false);
+        setFocusable(false);
+        setSelectionModel(new NoSelectionModel());
+        setCellRenderer(new ScoreRenderer());
+        // Fixed cell sizes stop the list from measuring every row to lay itself out
+        setFixedCellHeight(ROW_HEIGHT);
+        setFixedCellWidth(ROW_WIDTH);
+    }
+
+    /**
+     * Creates a leaderboard list for the given leaderboard
+     *
+     * @param leaderboard - Leaderboard to page scores from
+     */
+    public LeaderboardList(ScoreRepository leaderboard) {
+        this();
+        setLeaderboard(leaderboard);
+    }
+
+    /**
+     * Points the list at a different leaderboard
+     *
+     * @param leaderboard - Leaderboard to page scores from
+     */
+    protected void setLeaderboard(ScoreRepository leaderboard) {
+        setModel(new PageModel(leaderboard));
+    }
+
+    /**
+     * List model that loads fixed-size pages of the ranking and keeps the most recent ones
+     */
+    protected static class PageModel extends AbstractListModel<GameUtils.PlayerScore> {
+        private static final long serialVersionUID = 1L;
+        private static final int PAGE_SIZE = 100;
+        private static final int MAX_CACHED_PAGES = 8;
+
+        private final transient ScoreRepository leaderboard;
+        private final int size;
+        private final transient Map<Integer, List<GameUtils.PlayerScore>> pages =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Integer, List<GameUtils.PlayerScore>> eldest) {
+                        return size() > MAX_CACHED_PAGES;
+                    }
+                };
+
+        public PageModel(ScoreRepository leaderboard) {
+            this.leaderboard = leaderboard;
+            this.size = leaderboard.size();
+        }
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public GameUtils.PlayerScore getElementAt(int index) {
+            int page = index / PAGE_SIZE;
+            List<GameUtils.PlayerScore> scores = pages.get(page);
+            if (scores == null) {
+                scores = leaderboard.getTopScores(page * PAGE_SIZE, PAGE_SIZE);
+                pages.put(page, scores);
+            }
+            int position = index % PAGE_SIZE;
+            return position < scores.size() ? scores.get(position) : null;
+        }
+    }
+
+    /**
+     * Renders each visible score as a centered label
+     */
+    protected static class ScoreRenderer extends JLabel implements ListCellRenderer<GameUtils.PlayerScore> {
+        private static final long serialVersionUID = 1L;
+
+        public ScoreRenderer() {
+            setHorizontalAlignment(SwingConstants.CENTER);
+            setFont(ResourceCache.font("Poppins", Font.BOLD, 25));
+            setForeground(Color.WHITE);
+            setOpaque(false);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends GameUtils.PlayerScore> list, GameUtils.PlayerScore playerScore,
+                                                      int index, boolean isSelected, boolean cellHasFocus) {
+            if (playerScore == null) {
+                setText("");
+            } else if (index == 0 || playerScore.getScore() == 15) {
+                setText("♛ " + playerScore);
+            } else {
+                setText(playerScore.toString());
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Selection model that ignores selection, since the leaderboard is read-only
+     */
+    protected static class NoSelectionModel extends DefaultListSelectionModel {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void setSelectionInterval(int index0, int index1) {
+        }
+
+        @Override
+        public void addSelectionInterval(int index0, int index1) {
+        }
+    }
+}
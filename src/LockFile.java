@@ -0,0 +1,148 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock file through which Queeze instances sharing the "scores" and "saves" folders coordinate writes to a data
+ * file, kept next to it as "<name>.lock"
+ * Data files are replaced by atomic renames when they are compacted, resized or rewritten, and a lock held on the
+ * data file itself would stay with the replaced file, so locks are taken on regions of this file instead, which
+ * is never replaced
+ * The lock file also counts how many times the data file has been replaced, so processes that still have the old
+ * file open know to reopen it
+ * The count is kept in the first GENERATION_SIZE bytes, which no region covers, so reading it never runs into
+ * another process's lock where locks are mandatory: regions start after it
+ * It is written only while holding the exclusive FILE lock or a lock over every region, and read while holding any
+ * lock on the data file, so no process reads it while another is changing it
+ * - Region 0 (FILE) can guard the data file as a whole: held shared while the file is read, and exclusive while
+ *   it is appended to or replaced
+ * - Further regions can guard parts of the file, e.g. shards of a hash table, so writers to different parts do
+ *   not block each other, with a lock over every region standing in for a lock on the whole file
+ * Locks are advisory and held per process, so each data file should have one LockFile per process, used by one
+ * thread at a time
+ * Contended locks are polled for rather than waited for: the kernel tracks record locks per process, so a process
+ * waiting on one file from one thread while another of its threads holds a different file looks like a deadlock
+ * to it, and a blocking lock would fail with EDEADLK even though no thread is actually stuck
+ * Time spent waiting for other processes is recorded in Metrics
+ */
+public class LockFile {
+    protected static final long FILE = 0;
+
+    private static final int GENERATION_SIZE = 8;
+    private static final long MIN_POLL_NANOS = 20_000;
+    private static final long MAX_POLL_NANOS = 1_000_000;
+
+    private static final LatencyHistogram waitTimer = Metrics.timer("lock.wait");
+
+    private final File file;
+    private FileChannel channel;
+
+    /**
+     * Creates the lock file for a data file, which is opened on first use
+     *
+     * @param dataFile - Data file to guard
+     */
+    public LockFile(File dataFile) {
+        this.file = new File(dataFile.getParentFile(), dataFile.getName() + ".lock");
+    }
+
+    /**
+     * Locks a region, waiting for any other process holding a conflicting lock
+     *
+     * @param region - Region to lock, FILE for the whole data file
+     * @param shared - true for a shared (read) lock, false for an exclusive (write) lock
+     * @return the lock, released by closing it
+     */
+    protected FileLock lock(long region, boolean shared) throws IOException {
+        return lock(region, 1, shared);
+    }
+
+    /**
+     * Locks a run of consecutive regions with a single lock, polling with a growing delay while another process
+     * holds a conflicting lock
+     *
+     * @param region - First region to lock
+     * @param regions - Number of regions to lock, Long.MAX_VALUE for every region from the first
+     * @param shared - true for a shared (read) lock, false for an exclusive (write) lock
+     * @return the lock, released by closing it
+     */
+    protected FileLock lock(long region, long regions, boolean shared) throws IOException {
+        FileChannel lockChannel = channel();
+        long position = GENERATION_SIZE + region;
+        long size = Math.min(regions, Long.MAX_VALUE - position);
+        // Tried without waiting first, so uncontended locks are not timed
+        FileLock lock = lockChannel.tryLock(position, size, shared);
+        if (lock != null) {
+            return lock;
+        }
+        long start = System.nanoTime();
+        try {
+            long pollNanos = MIN_POLL_NANOS;
+            do {
+                LockSupport.parkNanos(pollNanos);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Interrupted while waiting for " + file);
+                }
+                pollNanos = Math.min(MAX_POLL_NANOS, 2 * pollNanos);
+            } while ((lock = lockChannel.tryLock(position, size, shared)) == null);
+            return lock;
+        } finally {
+            waitTimer.recordSince(start);
+        }
+    }
+
+    /**
+     * Opens the lock file, or reopens it if an interrupted lock closed it
+     */
+    private synchronized FileChannel channel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            File directory = file.getParentFile();
+            if (!directory.exists()) {
+                directory.mkdirs();
+            }
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+        return channel;
+    }
+
+    /**
+     * Gets how many times the data file has been replaced, as recorded by replaced
+     * Must be called while holding a lock on the data file
+     * Compared while holding a lock to notice that another process has replaced a data file this process still has
+     * open; file identities cannot be used for this, as a replaced file's inode number can be reused at once
+     *
+     * @return the data file's generation, 0 until it is first replaced
+     */
+    protected long generation() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(GENERATION_SIZE);
+        FileChannel lockChannel = channel();
+        while (buffer.hasRemaining()) {
+            if (lockChannel.read(buffer, buffer.position()) < 0) {
+                return 0;
+            }
+        }
+        return buffer.getLong(0);
+    }
+
+    /**
+     * Records that the data file has been replaced, which must be done while holding the exclusive FILE lock or a
+     * lock over every region
+     *
+     * @return the data file's new generation
+     */
+    protected long replaced() throws IOException {
+        long generation = generation() + 1;
+        ByteBuffer buffer = ByteBuffer.allocate(GENERATION_SIZE).putLong(0, generation);
+        FileChannel lockChannel = channel();
+        while (buffer.hasRemaining()) {
+            lockChannel.write(buffer, buffer.position());
+        }
+        return generation;
+    }
+}
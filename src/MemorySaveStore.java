@@ -0,0 +1,60 @@
+import java.util.*;
+
+/**
+ * Save store that only lives in memory, for tests, benchmarks and running the engine without disk I/O
+ * Saves and checkpoints are lost when the process exits
+ */
+public class MemorySaveStore implements SaveRepository {
+    private final Map<String, GameUtils.GameState[]> saves = new HashMap<>();
+    private final Map<String, ArrayDeque<GameUtils.GameState>> histories = new HashMap<>();
+
+    @Override
+    public synchronized GameUtils.GameState load(String username, int saveSlot) {
+        SaveRepository.checkSaveSlot(saveSlot);
+        GameUtils.GameState[] playerSaves = saves.get(username);
+        return playerSaves == null ? null : playerSaves[saveSlot];
+    }
+
+    @Override
+    public synchronized GameUtils.GameState[] list(String username) {
+        GameUtils.GameState[] playerSaves = saves.get(username);
+        return playerSaves == null ? new GameUtils.GameState[SAVE_SLOTS] : playerSaves.clone();
+    }
+
+    @Override
+    public synchronized void save(String username, int saveSlot, GameUtils.GameState gameState) {
+        SaveRepository.checkSaveSlot(saveSlot);
+        saves.computeIfAbsent(username, name -> new GameUtils.GameState[SAVE_SLOTS])[saveSlot] = gameState;
+    }
+
+    @Override
+    public synchronized boolean delete(String username, int saveSlot) {
+        SaveRepository.checkSaveSlot(saveSlot);
+        GameUtils.GameState[] playerSaves = saves.get(username);
+        if (playerSaves == null || playerSaves[saveSlot] == null) {
+            return false;
+        }
+        playerSaves[saveSlot] = null;
+        return true;
+    }
+
+    @Override
+    public synchronized void checkpoint(String username, GameUtils.GameState gameState) {
+        ArrayDeque<GameUtils.GameState> history = histories.computeIfAbsent(username, name -> new ArrayDeque<>());
+        history.addFirst(gameState);
+        if (history.size() > HISTORY_SIZE) {
+            history.removeLast();
+        }
+    }
+
+    @Override
+    public synchronized List<GameUtils.GameState> history(String username) {
+        ArrayDeque<GameUtils.GameState> history = histories.get(username);
+        return history == null ? Collections.emptyList() : new ArrayList<>(history);
+    }
+
+    @Override
+    public synchronized void clearHistory(String username) {
+        histories.remove(username);
+    }
+}
@@ -0,0 +1,259 @@
+import com.sun.net.httpserver.HttpServer;
+
+import javax.management.*;
+import javax.swing.*;
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime counters and latency histograms
+ * Call sites look their timers and counters up once and keep them in static fields, so recording is only
+ * a pair of System.nanoTime calls and a few atomic increments
+ * Metrics are exposed:
+ * - Through the "queeze:type=Metrics" MBean, with count, mean, p50, p99, p99.9 and max attributes per timer
+ * - In Prometheus text format at http://127.0.0.1:<port>/metrics, when the "queeze.metrics.port" system property is set
+ * Timer names use dots (e.g. "leaderboard.submit") and become "queeze_leaderboard_submit_seconds" in Prometheus
+ */
+public class Metrics {
+    protected static final String OBJECT_NAME = "queeze:type=Metrics";
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.99", "0.999"};
+
+    private static final Map<String, LatencyHistogram> timers = new ConcurrentSkipListMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private static HttpServer httpServer;
+    private static boolean started;
+
+    /**
+     * Gets a latency timer, creating it on first use
+     *
+     * @param name - Timer name
+     * @return the timer's histogram, recording nanoseconds
+     */
+    protected static LatencyHistogram timer(String name) {
+        return timers.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Gets a counter, creating it on first use
+     *
+     * @param name - Counter name
+     * @return the counter
+     */
+    protected static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Registers the metrics MBean, starts the Prometheus endpoint if a port is configured,
+     * and times Swing repaints
+     * Only the first call has any effect
+     */
+    protected static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+
+        Integer port = Integer.getInteger("queeze.metrics.port");
+        if (port != null) {
+            try {
+                startHttpServer(port);
+            } catch (IOException e) {
+                System.out.println("Failed to start metrics endpoint on port " + port + ": " + e.getMessage());
+            }
+        }
+
+        if (!GraphicsEnvironment.isHeadless()) {
+            SwingUtilities.invokeLater(() -> RepaintManager.setCurrentManager(new TimedRepaintManager()));
+        }
+    }
+
+    private static void startHttpServer(int port) throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        httpServer.createContext("/metrics", exchange -> {
+            byte[] body = toPrometheusText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        Thread.Builder threads = Thread.ofPlatform().name("queeze-metrics").daemon(true);
+        httpServer.setExecutor(command -> threads.start(command));
+        // The server's dispatcher thread inherits daemon status from the thread that starts it,
+        // so the endpoint never keeps the application alive
+        Thread starter = threads.start(httpServer::start);
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Formats every metric in the Prometheus text exposition format
+     * Timers are written as summaries in seconds, counters as counters
+     *
+     * @return metrics text
+     */
+    protected static String toPrometheusText() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : timers.entrySet()) {
+            String name = "queeze_" + entry.getKey().replace('.', '_') + "_seconds";
+            LatencyHistogram histogram = entry.getValue();
+            text.append("# TYPE ").append(name).append(" summary\n");
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                text.append(name).append("{quantile=\"").append(QUANTILE_LABELS[i]).append("\"} ")
+                        .append(seconds(histogram.getValueAtPercentile(PERCENTILES[i]))).append('\n');
+            }
+            text.append(name).append("_sum ").append(seconds(histogram.getTotal())).append('\n');
+            text.append(name).append("_count ").append(histogram.getCount()).append('\n');
+        }
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            String name = "queeze_" + entry.getKey().replace('.', '_') + "_total";
+            text.append("# TYPE ").append(name).append(" counter\n");
+            text.append(name).append(' ').append(entry.getValue().sum()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    /**
+     * Clears every timer and counter
+     */
+    protected static void reset() {
+        for (LatencyHistogram histogram : timers.values()) {
+            histogram.reset();
+        }
+        for (LongAdder counter : counters.values()) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * MBean whose attributes are the current metrics, so new metrics show up without re-registering
+     * Timers have "<name>.count", "<name>.meanMillis", "<name>.p50Millis", "<name>.p99Millis",
+     * "<name>.p99.9Millis" and "<name>.maxMillis" attributes, counters a "<name>" attribute
+     */
+    private static class MetricsMBean implements DynamicMBean {
+        private static final String[] TIMER_ATTRIBUTES = {"count", "meanMillis", "p50Millis", "p99Millis", "p99.9Millis", "maxMillis"};
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            LongAdder counter = counters.get(attribute);
+            if (counter != null) {
+                return counter.sum();
+            }
+            for (String suffix : TIMER_ATTRIBUTES) {
+                if (attribute.endsWith("." + suffix)) {
+                    LatencyHistogram histogram = timers.get(attribute.substring(0, attribute.length() - suffix.length() - 1));
+                    if (histogram != null) {
+                        return timerAttribute(histogram, suffix);
+                    }
+                }
+            }
+            throw new AttributeNotFoundException(attribute);
+        }
+
+        private Object timerAttribute(LatencyHistogram histogram, String suffix) {
+            switch (suffix) {
+                case "count":
+                    return histogram.getCount();
+                case "meanMillis":
+                    return histogram.getMean() / 1e6;
+                case "p50Millis":
+                    return histogram.getValueAtPercentile(50) / 1e6;
+                case "p99Millis":
+                    return histogram.getValueAtPercentile(99) / 1e6;
+                case "p99.9Millis":
+                    return histogram.getValueAtPercentile(99.9) / 1e6;
+                default:
+                    return histogram.getMax() / 1e6;
+            }
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                try {
+                    list.add(new Attribute(attribute, getAttribute(attribute)));
+                } catch (AttributeNotFoundException ignored) {
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            if (actionName.equals("reset")) {
+                reset();
+                return null;
+            }
+            throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            for (String name : timers.keySet()) {
+                for (String suffix : TIMER_ATTRIBUTES) {
+                    String type = suffix.equals("count") ? "long" : "double";
+                    attributes.add(new MBeanAttributeInfo(name + "." + suffix, type, name + " " + suffix, true, false, false));
+                }
+            }
+            for (String name : counters.keySet()) {
+                attributes.add(new MBeanAttributeInfo(name, "long", name + " count", true, false, false));
+            }
+            MBeanOperationInfo reset = new MBeanOperationInfo("reset", "Clears every timer and counter",
+                    new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION);
+            return new MBeanInfo(Metrics.class.getName(), "Queeze runtime metrics",
+                    attributes.toArray(new MBeanAttributeInfo[0]), null, new MBeanOperationInfo[]{reset}, null);
+        }
+    }
+
+    /**
+     * Repaint manager that times each pass of painting the dirty regions on the Event Dispatch Thread
+     */
+    private static class TimedRepaintManager extends RepaintManager {
+        private final LatencyHistogram repaintTimer = timer("swing.repaint");
+
+        @Override
+        public void paintDirtyRegions() {
+            long start = System.nanoTime();
+            super.paintDirtyRegions();
+            repaintTimer.recordSince(start);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Storage backends for leaderboards and saves, picked at startup with the "queeze.persistence" system property:
+ * - binary (default): binary score logs ("scores/<difficulty> mode scores.dat") and binary save stores
+ *   ("saves/<difficulty> mode saves.dat"), importing the text files the first time they are created
+ * - text: the "username:score" and "username:score:lives:questionIndex" text files older versions wrote
+ * - memory: nothing is written to disk, for tests, benchmarks and running the engine without disk I/O
+ * Checkpoint histories use the same binary CheckpointLog with both file backends
+ * Repositories are shared per difficulty and hold no UI code
+ */
+public class Persistence {
+    /**
+     * A way of storing leaderboards and saves
+     */
+    protected enum Backend {
+        TEXT {
+            @Override
+            protected ScoreRepository createScores(String difficulty) throws IOException {
+                return new Leaderboard(new Leaderboard.TextLog(file("scores", difficulty, "scores.txt")));
+            }
+
+            @Override
+            protected SaveRepository createSaves(String difficulty) throws IOException {
+                return TextSaveStore.open(file("saves", difficulty, "saves.txt"),
+                        CheckpointLog.open(file("saves", difficulty, "checkpoints.log")));
+            }
+        },
+        BINARY {
+            @Override
+            protected ScoreRepository createScores(String difficulty) throws IOException {
+                return new Leaderboard(new Leaderboard.BinaryLog(file("scores", difficulty, "scores.dat"),
+                        file("scores", difficulty, "scores.txt")));
+            }
+
+            @Override
+            protected SaveRepository createSaves(String difficulty) throws IOException {
+                return SaveStore.open(file("saves", difficulty, "saves.dat"), file("saves", difficulty, "saves.txt"),
+                        CheckpointLog.open(file("saves", difficulty, "checkpoints.log")));
+            }
+        },
+        MEMORY {
+            @Override
+            protected ScoreRepository createScores(String difficulty) {
+                return Leaderboard.inMemory();
+            }
+
+            @Override
+            protected SaveRepository createSaves(String difficulty) {
+                return new MemorySaveStore();
+            }
+        };
+
+        /**
+         * Opens a difficulty's leaderboard with this backend, replaying it if it exists
+         *
+         * @param difficulty - Game difficulty level
+         * @return the difficulty's leaderboard
+         */
+        protected abstract ScoreRepository createScores(String difficulty) throws IOException;
+
+        /**
+         * Opens a difficulty's saves with this backend, creating their files if needed
+         *
+         * @param difficulty - Game difficulty level
+         * @return the difficulty's saves
+         */
+        protected abstract SaveRepository createSaves(String difficulty) throws IOException;
+
+        /**
+         * Gets a backend by its property value, e.g. "binary"
+         *
+         * @param name - Backend name, in any case
+         * @return the backend
+         */
+        protected static Backend forName(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    protected static final Backend BACKEND = Backend.forName(System.getProperty("queeze.persistence", "binary"));
+
+    private static final Map<String, ScoreRepository> scores = new HashMap<>();
+    private static final Map<String, SaveRepository> saves = new HashMap<>();
+
+    /**
+     * Gets the shared leaderboard for a difficulty, opening it on first use
+     *
+     * @param difficulty - Game difficulty level
+     * @return the difficulty's leaderboard
+     */
+    protected static synchronized ScoreRepository scores(String difficulty) throws IOException {
+        ScoreRepository repository = scores.get(difficulty);
+        if (repository == null) {
+            repository = BACKEND.createScores(difficulty);
+            scores.put(difficulty, repository);
+        }
+        return repository;
+    }
+
+    /**
+     * Gets the shared saves for a difficulty, opening them on first use
+     *
+     * @param difficulty - Game difficulty level
+     * @return the difficulty's saves
+     */
+    protected static synchronized SaveRepository saves(String difficulty) throws IOException {
+        SaveRepository repository = saves.get(difficulty);
+        if (repository == null) {
+            repository = BACKEND.createSaves(difficulty);
+            saves.put(difficulty, repository);
+        }
+        return repository;
+    }
+
+    /**
+     * Gets the file a difficulty's data is kept in, e.g. "scores/easy mode scores.txt"
+     *
+     * @param directory - Directory holding the file
+     * @param difficulty - Game difficulty level
+     * @param suffix - Name of the kind of data, with its extension
+     * @return the file
+     */
+    protected static File file(String directory, String difficulty, String suffix) {
+        return new File(directory, difficulty.toLowerCase() + " mode " + suffix);
+    }
+}
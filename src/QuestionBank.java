@@ -0,0 +1,280 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped question bank for a single difficulty
+ * Bank files are stored in the "questions" directory as "<difficulty> mode questions.qzb"
+ * File layout:
+ * - Header: magic, version, question count, CRC32 of the rest of the file (ints)
+ * - Offset table: question count + 1 ints, each pointing at the start of a record (the last one marks the end)
+ * - Records: correct option index (byte), option count (byte), then the question and each option as
+ *   (unsigned short length, UTF-8 bytes)
+ * Questions are decoded lazily by index, so only the question being shown is held on the heap
+ * The built-in questions are encoded on first use and compared with the file's header, so a file written from older
+ * questions is replaced
+ */
+public class QuestionBank {
+    protected static final int MAGIC = 0x515A5142; // "QZQB"
+    // Version 2: question text uses "\n" line breaks instead of HTML
+    // Version 3: header holds a checksum of the questions
+    protected static final int VERSION = 3;
+    protected static final int HEADER_SIZE = 16;
+
+    private static final Map<String, QuestionBank> banks = new HashMap<>();
+
+    private final ByteBuffer buffer;
+    private final int size;
+
+    /**
+     * Encodes the built-in questions of a game mode as the contents of a bank file (see encode)
+     */
+    @FunctionalInterface
+    protected interface Source {
+        byte[] encode();
+    }
+
+    private QuestionBank(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+    }
+
+    /**
+     * Gets the shared question bank for a difficulty, mapping it on first use, e.g. to map it ahead of a game
+     *
+     * @param difficulty - Game difficulty level
+     * @return the mapped question bank
+     */
+    protected static QuestionBank forDifficulty(String difficulty) {
+        return forDifficulty(difficulty, GameModes.questionSource(difficulty));
+    }
+
+    /**
+     * Gets the shared question bank for a difficulty, mapping it on first use
+     * Writes the bank file from the game mode's built-in questions if it is missing, outdated or holds other questions
+     *
+     * @param difficulty - Game difficulty level
+     * @param source - Encoder for the game mode's built-in questions
+     * @return the mapped question bank
+     */
+    protected static synchronized QuestionBank forDifficulty(String difficulty, Source source) {
+        QuestionBank bank = banks.get(difficulty);
+        if (bank == null) {
+            File bankFile = new File("questions//" + difficulty.toLowerCase() + " mode questions.qzb");
+            try {
+                byte[] contents = source.encode();
+                if (!isCurrent(bankFile, contents)) {
+                    File questionsDirectory = bankFile.getParentFile();
+                    if (!questionsDirectory.exists()) {
+                        questionsDirectory.mkdirs();
+                    }
+                    File tempFile = new File(questionsDirectory, bankFile.getName() + ".tmp");
+                    Files.write(tempFile.toPath(), contents);
+                    Files.move(tempFile.toPath(), bankFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                bank = open(bankFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load question bank: " + bankFile, e);
+            }
+            banks.put(difficulty, bank);
+        }
+        return bank;
+    }
+
+    /**
+     * Maps an existing bank file into memory
+     *
+     * @param bankFile - Bank file to map
+     * @return the mapped question bank
+     */
+    protected static QuestionBank open(File bankFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(bankFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a question bank: " + bankFile);
+            }
+            return new QuestionBank(buffer);
+        }
+    }
+
+    /**
+     * Checks whether a bank file holds the given contents, by comparing its header, which includes their checksum
+     *
+     * @param bankFile - Bank file to check
+     * @param contents - Encoded questions the file should hold
+     * @return true if the file can be mapped as is
+     */
+    private static boolean isCurrent(File bankFile, byte[] contents) throws IOException {
+        if (!bankFile.exists() || bankFile.length() != contents.length) {
+            return false;
+        }
+        byte[] header = new byte[HEADER_SIZE];
+        try (DataInputStream input = new DataInputStream(new FileInputStream(bankFile))) {
+            input.readFully(header);
+        }
+        return Arrays.equals(header, 0, HEADER_SIZE, contents, 0, HEADER_SIZE);
+    }
+
+    /**
+     * Encodes parallel question, option and answer arrays as the contents of a bank file
+     * Correct answers are stored as the index of the matching option
+     *
+     * @param questions - Question texts
+     * @param options - Options for each question
+     * @param correctAnswers - Correct option text for each question
+     * @return the bank file's contents
+     */
+    protected static byte[] encode(String[] questions, String[][] options, String[] correctAnswers) {
+        try {
+            return encodeRecords(questions, options, correctAnswers);
+        } catch (IOException e) {
+            // Only written to memory
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] encodeRecords(String[] questions, String[][] options, String[] correctAnswers) throws IOException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordOutput = new DataOutputStream(records);
+        int tableSize = 4 * (questions.length + 1);
+        int[] offsets = new int[questions.length + 1];
+
+        for (int i = 0; i < questions.length; i++) {
+            offsets[i] = HEADER_SIZE + tableSize + recordOutput.size();
+
+            int correctIndex = -1;
+            for (int j = 0; j < options[i].length; j++) {
+                if (options[i][j].equals(correctAnswers[i])) {
+                    correctIndex = j;
+                    break;
+                }
+            }
+            if (correctIndex < 0) {
+                throw new IllegalArgumentException("Correct answer is not an option: " + correctAnswers[i]);
+            }
+
+            recordOutput.writeByte(correctIndex);
+            recordOutput.writeByte(options[i].length);
+            writeString(recordOutput, questions[i]);
+            for (String option : options[i]) {
+                writeString(recordOutput, option);
+            }
+        }
+        offsets[questions.length] = HEADER_SIZE + tableSize + recordOutput.size();
+
+        ByteBuffer contents = ByteBuffer.allocate(offsets[questions.length]);
+        contents.position(HEADER_SIZE);
+        for (int offset : offsets) {
+            contents.putInt(offset);
+        }
+        contents.put(records.toByteArray());
+
+        CRC32 crc = new CRC32();
+        crc.update(contents.array(), HEADER_SIZE, contents.capacity() - HEADER_SIZE);
+        contents.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, questions.length).putInt(12, (int) crc.getValue());
+        return contents.array();
+    }
+
+    private static void writeString(DataOutputStream output, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Text too long for question bank: " + text.substring(0, 40) + "...");
+        }
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Gets the number of questions in the bank
+     *
+     * @return question count
+     */
+    protected int size() {
+        return size;
+    }
+
+    /**
+     * Decodes a single question from the mapped file
+     *
+     * @param index - Question position
+     * @return the decoded question
+     */
+    protected Question get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Question " + index + " of " + size);
+        }
+        int position = buffer.getInt(HEADER_SIZE + 4 * index);
+        int correctIndex = buffer.get(position);
+        String[] options = new String[buffer.get(position + 1)];
+        position += 2;
+
+        int length = buffer.getShort(position) & 0xFFFF;
+        String text = readString(position + 2, length);
+        position += 2 + length;
+
+        for (int i = 0; i < options.length; i++) {
+            length = buffer.getShort(position) & 0xFFFF;
+            options[i] = readString(position + 2, length);
+            position += 2 + length;
+        }
+        return new Question(text, options, correctIndex);
+    }
+
+    /**
+     * Reads a question's correct option index without decoding its text
+     *
+     * @param index - Question position
+     * @return index of the correct option
+     */
+    protected int getCorrectIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Question " + index + " of " + size);
+        }
+        return buffer.get(buffer.getInt(HEADER_SIZE + 4 * index));
+    }
+
+    private String readString(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Data container for a decoded question
+     */
+    protected static class Question {
+        String text;
+        String[] options;
+        int correctIndex;
+
+        public Question(String text, String[] options, int correctIndex) {
+            this.text = text;
+            this.options = options;
+            this.correctIndex = correctIndex;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String[] getOptions() {
+            return options;
+        }
+
+        public int getCorrectIndex() {
+            return correctIndex;
+        }
+
+        public String getCorrectAnswer() {
+            return options[correctIndex];
+        }
+    }
+}
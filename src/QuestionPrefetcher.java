@@ -0,0 +1,145 @@
+import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Prepares questions before they are asked
+ * While the player reads a question, the next one is decoded, its options are shuffled and its text is wrapped
+ * on a background thread, so showing it only swaps in finished layouts on the Event Dispatch Thread
+ * Questions that were not prepared in time are prepared on the spot instead
+ */
+public class QuestionPrefetcher {
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "queeze-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final WrappedText questionText;
+    private final GameUtils.RoundedButton optionButton;
+    private CompletableFuture<PreparedQuestion> next;
+
+    /**
+     * Creates a prefetcher for a gameplay screen
+     *
+     * @param questionText - Component the question text is shown in
+     * @param optionButton - One of the buttons the options are shown in, all of which share a size and font
+     */
+    public QuestionPrefetcher(WrappedText questionText, GameUtils.RoundedButton optionButton) {
+        this.questionText = questionText;
+        this.optionButton = optionButton;
+    }
+
+    /**
+     * Starts preparing a question in the background, replacing any question being prefetched
+     * Must be called on the Event Dispatch Thread, which reads the fonts and wrap widths to prepare for
+     *
+     * @param session - Game the question belongs to
+     * @param questionIndex - Position of the question to prepare
+     */
+    protected void prefetch(QuizSession session, int questionIndex) {
+        Font questionFont = questionText.getFont();
+        int questionWrapWidth = questionText.getWrapWidth();
+        Font optionFont = optionButton.getFont();
+        int optionWrapWidth = optionButton.getWrapWidth();
+        next = CompletableFuture.supplyAsync(() -> {
+            QuestionBank.Question question = session.peekQuestion(questionIndex);
+            return question != null
+                    ? prepare(question, questionIndex, questionFont, questionWrapWidth, optionFont, optionWrapWidth)
+                    : null;
+        }, executor);
+    }
+
+    /**
+     * Gets a question ready to show, using the prefetched one if it is finished and matches
+     * Never waits for the background thread
+     *
+     * @param question - Question being asked
+     * @param questionIndex - Position of the question being asked
+     * @return the prepared question
+     */
+    protected PreparedQuestion take(QuestionBank.Question question, int questionIndex) {
+        PreparedQuestion prepared = next != null && !next.isCompletedExceptionally() ? next.getNow(null) : null;
+        next = null;
+        if (prepared != null && prepared.questionIndex == questionIndex
+                && prepared.question.getText().equals(question.getText())) {
+            return prepared;
+        }
+        return prepare(question, questionIndex, questionText.getFont(), questionText.getWrapWidth(),
+                optionButton.getFont(), optionButton.getWrapWidth());
+    }
+
+    private static PreparedQuestion prepare(QuestionBank.Question question, int questionIndex, Font questionFont,
+                                            int questionWrapWidth, Font optionFont, int optionWrapWidth) {
+        String[] options = question.getOptions();
+        int[] order = new int[options.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+
+        WrappedText.Layout questionLayout = WrappedText.layout(question.getText(), questionFont, questionWrapWidth);
+        WrappedText.Layout[] optionLayouts = new WrappedText.Layout[options.length];
+        for (int i = 0; i < options.length; i++) {
+            optionLayouts[i] = WrappedText.layout(options[order[i]], optionFont, optionWrapWidth);
+        }
+        return new PreparedQuestion(question, questionIndex, order, questionLayout, optionLayouts);
+    }
+
+    /**
+     * Data container for a question that is ready to show
+     * Option positions are shuffled, so the option shown in a button is looked up through getOptionIndex
+     */
+    protected static class PreparedQuestion {
+        final QuestionBank.Question question;
+        final int questionIndex;
+        final int[] order;
+        final WrappedText.Layout questionLayout;
+        final WrappedText.Layout[] optionLayouts;
+
+        public PreparedQuestion(QuestionBank.Question question, int questionIndex, int[] order,
+                                WrappedText.Layout questionLayout, WrappedText.Layout[] optionLayouts) {
+            this.question = question;
+            this.questionIndex = questionIndex;
+            this.order = order;
+            this.questionLayout = questionLayout;
+            this.optionLayouts = optionLayouts;
+        }
+
+        public QuestionBank.Question getQuestion() {
+            return question;
+        }
+
+        public WrappedText.Layout getQuestionLayout() {
+            return questionLayout;
+        }
+
+        /**
+         * Gets the wrapped option text shown in a button
+         *
+         * @param buttonIndex - Position of the button
+         * @return the wrapped option text
+         */
+        public WrappedText.Layout getOptionLayout(int buttonIndex) {
+            return optionLayouts[buttonIndex];
+        }
+
+        /**
+         * Gets the question's option index for a button, as passed to QuizSession.answer
+         *
+         * @param buttonIndex - Position of the button
+         * @return the option index
+         */
+        public int getOptionIndex(int buttonIndex) {
+            return order[buttonIndex];
+        }
+    }
+}
@@ -0,0 +1,193 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Game session played on a quiz server
+ * Each call sends one QuizProtocol message and waits for the server's reply, so it is meant for a server
+ * on the same machine or network, where a round trip takes well under a frame
+ * The latest state and question sent by the server are kept, so getters do not touch the network
+ */
+public class QuizClient implements QuizSession, Closeable {
+    protected static final int CONNECT_TIMEOUT_MILLIS = 5000;
+
+    private final SocketChannel channel;
+    private final String username;
+    private final String difficulty;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(QuizServer.MAX_CLIENT_FRAME_SIZE);
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(2 * (QuizProtocol.LENGTH_SIZE + QuizProtocol.MAX_FRAME_SIZE));
+
+    private QuizEngine.Status status = QuizEngine.Status.PLAYING;
+    private int score;
+    private int lives;
+    private int questionIndex;
+    private int lastResult = QuizProtocol.NO_RESULT;
+    private QuestionBank.Question currentQuestion;
+
+    /**
+     * Connects to a quiz server, giving up after CONNECT_TIMEOUT_MILLIS
+     *
+     * @param address - Server address
+     * @param username - Player's username
+     * @param difficulty - Game difficulty level
+     */
+    public QuizClient(InetSocketAddress address, String username, String difficulty) {
+        this.username = username;
+        this.difficulty = difficulty;
+        try {
+            channel = SocketChannel.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to connect to quiz server: " + address, e);
+        }
+        try {
+            channel.socket().connect(address, CONNECT_TIMEOUT_MILLIS);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        } catch (IOException e) {
+            try {
+                channel.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw new UncheckedIOException("Failed to connect to quiz server: " + address, e);
+        }
+        readBuffer.flip();
+    }
+
+    /**
+     * Parses a server address given on the command line
+     *
+     * @param address - "host", "host:port" or ":port"
+     * @return the address, using the default port if none is given
+     */
+    protected static InetSocketAddress parseAddress(String address) {
+        int colon = address.lastIndexOf(':');
+        if (colon < 0) {
+            return new InetSocketAddress(address, QuizServer.DEFAULT_PORT);
+        }
+        String host = colon == 0 ? "localhost" : address.substring(0, colon);
+        return new InetSocketAddress(host, Integer.parseInt(address.substring(colon + 1)));
+    }
+
+    @Override
+    public void start() {
+        start(0, -1, 0);
+    }
+
+    @Override
+    public void start(int score, int lives, int questionIndex) {
+        writeBuffer.clear();
+        QuizProtocol.writeStart(writeBuffer, username, difficulty, score, lives, questionIndex);
+        exchange();
+    }
+
+    @Override
+    public QuestionBank.Question currentQuestion() {
+        return currentQuestion;
+    }
+
+    @Override
+    public boolean answer(int optionIndex) {
+        if (status != QuizEngine.Status.PLAYING) {
+            throw new IllegalStateException("Game is already over");
+        }
+        writeBuffer.clear();
+        QuizProtocol.writeAnswer(writeBuffer, optionIndex);
+        exchange();
+        return lastResult == 1;
+    }
+
+    @Override
+    public QuizEngine.Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public QuizEngine.Snapshot snapshot() {
+        return new QuizEngine.Snapshot(score, lives, questionIndex, status);
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public int getLives() {
+        return lives;
+    }
+
+    @Override
+    public int getQuestionIndex() {
+        return questionIndex;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Sends the message in the write buffer and reads the server's state, plus the next question while playing
+     */
+    private void exchange() {
+        try {
+            writeBuffer.flip();
+            while (writeBuffer.hasRemaining()) {
+                channel.write(writeBuffer);
+            }
+
+            ByteBuffer frame = readFrame();
+            byte type = frame.get();
+            if (type == QuizProtocol.ERROR) {
+                throw new IllegalStateException("Quiz server error: " + QuizProtocol.getString(frame));
+            }
+            if (type != QuizProtocol.STATE) {
+                throw new IOException("Unexpected message from quiz server: " + type);
+            }
+            lastResult = frame.get();
+            status = QuizEngine.Status.values()[frame.get()];
+            score = frame.getShort();
+            lives = frame.getShort();
+            questionIndex = frame.getShort();
+
+            currentQuestion = null;
+            if (status == QuizEngine.Status.PLAYING) {
+                frame = readFrame();
+                if (frame.get() != QuizProtocol.QUESTION) {
+                    throw new IOException("Expected a question from quiz server");
+                }
+                currentQuestion = QuizProtocol.readQuestion(frame);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lost connection to quiz server", e);
+        }
+    }
+
+    /**
+     * Blocks until a whole frame has arrived
+     *
+     * @return the frame's message type and payload
+     */
+    private ByteBuffer readFrame() throws IOException {
+        int length;
+        while ((length = QuizProtocol.completeFrameLength(readBuffer)) < 0) {
+            readBuffer.compact();
+            if (channel.read(readBuffer) < 0) {
+                throw new EOFException("Quiz server closed the connection");
+            }
+            readBuffer.flip();
+        }
+        int start = readBuffer.position() + QuizProtocol.LENGTH_SIZE;
+        ByteBuffer frame = readBuffer.slice(start, length);
+        readBuffer.position(start + length);
+        return frame;
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * UI-free quiz rules for a single game
+ * Tracks score, lives and question position over a question bank and checks answers by option index,
+ * so a game can be played without Swing, e.g. under java.awt.headless=true or from a benchmark
+ * Answering a question only reads its correct option index from the bank, so no question text is decoded
+ * unless currentQuestion is called
+ */
+public class QuizEngine implements QuizSession {
+    /**
+     * Progress of a game
+     */
+    protected enum Status {
+        PLAYING,
+        WON,
+        LOST
+    }
+
+    private final QuestionBank questionBank;
+    private final int initialLives;
+
+    private int score;
+    private int lives;
+    private int questionIndex;
+    private QuestionBank.Question currentQuestion;
+
+    /**
+     * Creates an engine for a question bank, ready to play a new game
+     *
+     * @param questionBank - Questions to ask, in order
+     * @param initialLives - Lives at the start of a new game
+     */
+    public QuizEngine(QuestionBank questionBank, int initialLives) {
+        this.questionBank = questionBank;
+        this.initialLives = initialLives;
+        start();
+    }
+
+    /**
+     * Starts a new game from the first question
+     */
+    @Override
+    public void start() {
+        start(0, initialLives, 0);
+    }
+
+    /**
+     * Starts a game from a given state, e.g. a loaded save
+     *
+     * @param score - Starting score
+     * @param lives - Starting lives
+     * @param questionIndex - Starting question position
+     */
+    @Override
+    public void start(int score, int lives, int questionIndex) {
+        if (questionIndex < 0 || questionIndex > questionBank.size()) {
+            throw new IllegalArgumentException("Question " + questionIndex + " of " + questionBank.size());
+        }
+        this.score = score;
+        this.lives = lives;
+        this.questionIndex = questionIndex;
+        this.currentQuestion = null;
+    }
+
+    /**
+     * Gets the question being asked, decoding it from the bank on first access
+     *
+     * @return the current question, or null if the game is over
+     */
+    @Override
+    public QuestionBank.Question currentQuestion() {
+        if (getStatus() != Status.PLAYING) {
+            return null;
+        }
+        if (currentQuestion == null) {
+            currentQuestion = questionBank.get(questionIndex);
+        }
+        return currentQuestion;
+    }
+
+    /**
+     * Decodes a question ahead of time, only reading the immutable question bank
+     *
+     * @param questionIndex - Question position
+     * @return the question, or null if there is no question at that position
+     */
+    @Override
+    public QuestionBank.Question peekQuestion(int questionIndex) {
+        if (questionIndex < 0 || questionIndex >= questionBank.size()) {
+            return null;
+        }
+        return questionBank.get(questionIndex);
+    }
+
+    /**
+     * Answers the current question and moves on to the next one
+     * A correct answer scores a point, a wrong answer costs a life
+     *
+     * @param optionIndex - Index of the chosen option
+     * @return true if the answer was correct
+     */
+    @Override
+    public boolean answer(int optionIndex) {
+        if (getStatus() != Status.PLAYING) {
+            throw new IllegalStateException("Game is already over");
+        }
+        boolean correct = optionIndex == questionBank.getCorrectIndex(questionIndex);
+        if (correct) {
+            score++;
+        } else {
+            lives--;
+        }
+        questionIndex++;
+        currentQuestion = null;
+        return correct;
+    }
+
+    /**
+     * Gets the game's progress
+     * The game is lost once no lives remain, and won once every question has been answered
+     *
+     * @return game status
+     */
+    @Override
+    public Status getStatus() {
+        if (lives <= 0) {
+            return Status.LOST;
+        }
+        return questionIndex < questionBank.size() ? Status.PLAYING : Status.WON;
+    }
+
+    /**
+     * Captures the game's current state
+     *
+     * @return immutable snapshot of the game
+     */
+    @Override
+    public Snapshot snapshot() {
+        return new Snapshot(score, lives, questionIndex, getStatus());
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public int getLives() {
+        return lives;
+    }
+
+    @Override
+    public int getQuestionIndex() {
+        return questionIndex;
+    }
+
+    protected int getQuestionCount() {
+        return questionBank.size();
+    }
+
+    /**
+     * Data container for a point-in-time copy of a game's state
+     */
+    protected static class Snapshot {
+        final int score;
+        final int lives;
+        final int questionIndex;
+        final Status status;
+
+        public Snapshot(int score, int lives, int questionIndex, Status status) {
+            this.score = score;
+            this.lives = lives;
+            this.questionIndex = questionIndex;
+            this.status = status;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getLives() {
+            return lives;
+        }
+
+        public int getQuestionIndex() {
+            return questionIndex;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * Converts the snapshot to the state stored in save files
+         *
+         * @return game state to save
+         */
+        public GameUtils.GameState toGameState() {
+            return new GameUtils.GameState(score, lives, questionIndex);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary protocol spoken between the quiz server and its clients
+ * Every message is a frame: length (unsigned short, counting the bytes after it), message type (byte), payload
+ * Strings are written as (unsigned short length, UTF-8 bytes), as in question bank files
+ * Client messages:
+ * - START: username, difficulty, score, lives, question index (shorts, lives of -1 for a new game)
+ * - ANSWER: option index (byte)
+ * Server messages:
+ * - STATE: answer result (byte: -1 none, 0 wrong, 1 correct), status ordinal (byte), score, lives, question index (shorts)
+ * - QUESTION: question index (short), question text, option count (byte), options
+ * - ERROR: message
+ * The server replies to START with STATE, and to ANSWER with STATE, each followed by QUESTION while the game is playing
+ */
+public class QuizProtocol {
+    protected static final int MAX_FRAME_SIZE = 4096;
+    protected static final int LENGTH_SIZE = 2;
+
+    protected static final byte START = 1;
+    protected static final byte ANSWER = 2;
+    protected static final byte STATE = 16;
+    protected static final byte QUESTION = 17;
+    protected static final byte ERROR = 18;
+
+    protected static final int NO_RESULT = -1;
+
+    /**
+     * Begins a frame, leaving room for its length
+     *
+     * @param buffer - Buffer to write to
+     * @param type - Message type
+     * @return position of the frame, passed to endFrame
+     */
+    protected static int beginFrame(ByteBuffer buffer, byte type) {
+        int start = buffer.position();
+        buffer.putShort((short) 0);
+        buffer.put(type);
+        return start;
+    }
+
+    /**
+     * Fills in a frame's length once its payload has been written
+     *
+     * @param buffer - Buffer written to
+     * @param start - Position returned by beginFrame
+     */
+    protected static void endFrame(ByteBuffer buffer, int start) {
+        int length = buffer.position() - start - LENGTH_SIZE;
+        if (length > MAX_FRAME_SIZE) {
+            throw new BufferOverflowException();
+        }
+        buffer.putShort(start, (short) length);
+    }
+
+    /**
+     * Gets the length of the first complete frame in a buffer
+     *
+     * @param buffer - Buffer in read mode
+     * @return frame length after the length field, or -1 if the frame has not fully arrived
+     */
+    protected static int completeFrameLength(ByteBuffer buffer) {
+        if (buffer.remaining() < LENGTH_SIZE) {
+            return -1;
+        }
+        int length = buffer.getShort(buffer.position()) & 0xFFFF;
+        return buffer.remaining() - LENGTH_SIZE >= length ? length : -1;
+    }
+
+    protected static void writeStart(ByteBuffer buffer, String username, String difficulty, int score, int lives, int questionIndex) {
+        int start = beginFrame(buffer, START);
+        putString(buffer, username);
+        putString(buffer, difficulty);
+        buffer.putShort((short) score);
+        buffer.putShort((short) lives);
+        buffer.putShort((short) questionIndex);
+        endFrame(buffer, start);
+    }
+
+    protected static void writeAnswer(ByteBuffer buffer, int optionIndex) {
+        int start = beginFrame(buffer, ANSWER);
+        buffer.put((byte) optionIndex);
+        endFrame(buffer, start);
+    }
+
+    protected static void writeState(ByteBuffer buffer, int result, QuizSession session) {
+        int start = beginFrame(buffer, STATE);
+        buffer.put((byte) result);
+        buffer.put((byte) session.getStatus().ordinal());
+        buffer.putShort((short) session.getScore());
+        buffer.putShort((short) session.getLives());
+        buffer.putShort((short) session.getQuestionIndex());
+        endFrame(buffer, start);
+    }
+
+    protected static void writeQuestion(ByteBuffer buffer, int questionIndex, QuestionBank.Question question) {
+        int start = beginFrame(buffer, QUESTION);
+        buffer.putShort((short) questionIndex);
+        putString(buffer, question.getText());
+        String[] options = question.getOptions();
+        buffer.put((byte) options.length);
+        for (String option : options) {
+            putString(buffer, option);
+        }
+        endFrame(buffer, start);
+    }
+
+    protected static void writeError(ByteBuffer buffer, String message) {
+        int start = beginFrame(buffer, ERROR);
+        putString(buffer, message);
+        endFrame(buffer, start);
+    }
+
+    /**
+     * Reads a question frame's payload
+     * The correct option is not sent to clients, so the question's correct index is -1
+     *
+     * @param buffer - Buffer positioned after the message type
+     * @return the question
+     */
+    protected static QuestionBank.Question readQuestion(ByteBuffer buffer) {
+        buffer.getShort();
+        String text = getString(buffer);
+        String[] options = new String[buffer.get()];
+        for (int i = 0; i < options.length; i++) {
+            options[i] = getString(buffer);
+        }
+        return new QuestionBank.Question(text, options, -1);
+    }
+
+    protected static void putString(ByteBuffer buffer, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("Text too long for a frame: " + text.substring(0, 40) + "...");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    protected static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,313 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.Iterator;
+
+/**
+ * Non-blocking quiz server hosting many concurrent game sessions
+ * Every connection plays one game at a time, using the same game modes and question banks as the Swing client,
+ * and speaks the QuizProtocol
+ * All connections are served by a single selector event loop, so an idle session costs only its socket,
+ * a small read buffer and its QuizEngine, which shares the mapped question bank with every other session
+ * Scores are not recorded by the server; clients submit them to the leaderboard when their game ends
+ * A session that fails is sent an ERROR and disconnected without affecting the others, as is a client that stops
+ * reading its replies once MAX_PENDING_WRITE_SIZE bytes of them are queued
+ */
+public class QuizServer implements Closeable {
+    protected static final int DEFAULT_PORT = 7341;
+    // Client frames are small, so each connection gets a small fixed read buffer
+    protected static final int MAX_CLIENT_FRAME_SIZE = 512;
+    // Replies queued for a client that keeps sending without reading them
+    protected static final int MAX_PENDING_WRITE_SIZE = 64 * 1024;
+    private static final int ACCEPT_BACKLOG = 4096;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    // Replies are encoded here before being written, so sessions only hold a write buffer while a write is pending
+    private final ByteBuffer scratch = ByteBuffer.allocate(2 * (QuizProtocol.LENGTH_SIZE + QuizProtocol.MAX_FRAME_SIZE));
+    private volatile boolean running;
+    private volatile int sessionCount;
+    private Thread thread;
+
+    /**
+     * Binds the server to a port on the loopback interface, so only players on the same machine can connect
+     *
+     * @param port - Port to listen on, or 0 for any free port
+     */
+    public QuizServer(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Binds the server to an address
+     *
+     * @param address - Address to listen on, e.g. a wildcard address to accept players from other machines
+     */
+    public QuizServer(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, ACCEPT_BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Starts the event loop on its own thread
+     */
+    protected synchronized void start() {
+        if (thread == null) {
+            running = true;
+            thread = new Thread(this::run, "queeze-server");
+            thread.start();
+        }
+    }
+
+    /**
+     * Gets the port the server is listening on
+     *
+     * @return local port
+     */
+    protected int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of connected sessions
+     *
+     * @return session count
+     */
+    protected int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Stops the event loop and disconnects every session
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            closeAll();
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            if (key.isWritable()) {
+                                write(key);
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                read(key);
+                            }
+                        }
+                    } catch (IOException e) {
+                        disconnect(key);
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                        disconnect(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            e.printStackTrace();
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Session());
+            sessionCount++;
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Session session = (Session) key.attachment();
+        if (channel.read(session.readBuffer) < 0) {
+            disconnect(key);
+            return;
+        }
+
+        ByteBuffer buffer = session.readBuffer.flip();
+        int length;
+        while ((length = QuizProtocol.completeFrameLength(buffer)) >= 0) {
+            int frameEnd = buffer.position() + QuizProtocol.LENGTH_SIZE + length;
+            buffer.position(buffer.position() + QuizProtocol.LENGTH_SIZE);
+            scratch.clear();
+            try {
+                handle(session, buffer.slice(buffer.position(), length));
+            } catch (BufferUnderflowException | IllegalArgumentException | IllegalStateException e) {
+                scratch.clear();
+                QuizProtocol.writeError(scratch, e.getMessage() != null ? e.getMessage() : "Malformed message");
+            } catch (RuntimeException e) {
+                // e.g. a question bank that fails to load, which only ends this session
+                e.printStackTrace();
+                scratch.clear();
+                QuizProtocol.writeError(scratch, "Server error");
+                try {
+                    ((SocketChannel) key.channel()).write(scratch.flip());
+                } catch (IOException ignored) {
+                }
+                disconnect(key);
+                return;
+            }
+            buffer.position(frameEnd);
+            send(key, session, scratch.flip());
+        }
+        buffer.compact();
+
+        if (!buffer.hasRemaining()) {
+            // A frame larger than the read buffer can never complete
+            disconnect(key);
+        }
+    }
+
+    /**
+     * Handles one client message, encoding the reply into the scratch buffer
+     *
+     * @param session - Session that sent the message
+     * @param frame - Message type and payload
+     */
+    private void handle(Session session, ByteBuffer frame) {
+        switch (frame.get()) {
+            case QuizProtocol.START: {
+                String username = QuizProtocol.getString(frame);
+                String difficulty = QuizProtocol.getString(frame);
+                int score = frame.getShort();
+                int lives = frame.getShort();
+                int questionIndex = frame.getShort();
+
+                QuizSession engine = GameModes.create(difficulty, username).engine;
+                if (lives >= 0) {
+                    engine.start(score, lives, questionIndex);
+                }
+                session.engine = engine;
+                reply(session, QuizProtocol.NO_RESULT);
+                break;
+            }
+            case QuizProtocol.ANSWER: {
+                if (session.engine == null) {
+                    throw new IllegalStateException("No game started");
+                }
+                boolean correct = session.engine.answer(frame.get());
+                reply(session, correct ? 1 : 0);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown message type");
+        }
+    }
+
+    private void reply(Session session, int result) {
+        QuizSession engine = session.engine;
+        QuizProtocol.writeState(scratch, result, engine);
+        QuestionBank.Question question = engine.currentQuestion();
+        if (question != null) {
+            QuizProtocol.writeQuestion(scratch, engine.getQuestionIndex(), question);
+        }
+    }
+
+    /**
+     * Writes a reply, queueing whatever the socket does not accept immediately
+     * Fails once more than MAX_PENDING_WRITE_SIZE bytes would be queued, so the session is disconnected
+     *
+     * @param key - Session's selection key
+     * @param session - Session to write to
+     * @param reply - Encoded reply in read mode
+     */
+    private void send(SelectionKey key, Session session, ByteBuffer reply) throws IOException {
+        if (session.pendingWrites == null) {
+            ((SocketChannel) key.channel()).write(reply);
+            if (!reply.hasRemaining()) {
+                return;
+            }
+            session.pendingWrites = ByteBuffer.allocate(Math.max(reply.remaining(), scratch.capacity()));
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        } else if (session.pendingWrites.remaining() < reply.remaining()) {
+            int pending = session.pendingWrites.position() + reply.remaining();
+            if (pending > MAX_PENDING_WRITE_SIZE) {
+                throw new IOException("Client is not reading its replies");
+            }
+            ByteBuffer grown = ByteBuffer.allocate(Math.min(MAX_PENDING_WRITE_SIZE, 2 * pending));
+            session.pendingWrites = grown.put(session.pendingWrites.flip());
+        }
+        session.pendingWrites.put(reply);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        Session session = (Session) key.attachment();
+        ByteBuffer pending = session.pendingWrites.flip();
+        ((SocketChannel) key.channel()).write(pending);
+        if (pending.hasRemaining()) {
+            pending.compact();
+        } else {
+            session.pendingWrites = null;
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void disconnect(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+        }
+        if (key.attachment() instanceof Session) {
+            sessionCount--;
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (IOException ignored) {
+            }
+        }
+        sessionCount = 0;
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * State of one connection
+     */
+    private static class Session {
+        final ByteBuffer readBuffer = ByteBuffer.allocate(MAX_CLIENT_FRAME_SIZE);
+        // Reply bytes the socket has not accepted yet, in write mode, or null if nothing is pending
+        ByteBuffer pendingWrites;
+        QuizSession engine;
+    }
+}
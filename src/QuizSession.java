@@ -0,0 +1,54 @@
+/**
+ * A game in progress, played either locally by a QuizEngine or on a quiz server through a QuizClient
+ */
+public interface QuizSession {
+    /**
+     * Starts a new game from the first question
+     */
+    void start();
+
+    /**
+     * Starts a game from a given state, e.g. a loaded save
+     *
+     * @param score - Starting score
+     * @param lives - Starting lives
+     * @param questionIndex - Starting question position
+     */
+    void start(int score, int lives, int questionIndex);
+
+    /**
+     * Gets the question being asked
+     *
+     * @return the current question, or null if the game is over
+     */
+    QuestionBank.Question currentQuestion();
+
+    /**
+     * Decodes a question ahead of time without changing the game, so it can be prepared before it is asked
+     * Safe to call from any thread
+     *
+     * @param questionIndex - Question position
+     * @return the question, or null if it does not exist or the session cannot look ahead
+     */
+    default QuestionBank.Question peekQuestion(int questionIndex) {
+        return null;
+    }
+
+    /**
+     * Answers the current question and moves on to the next one
+     *
+     * @param optionIndex - Index of the chosen option
+     * @return true if the answer was correct
+     */
+    boolean answer(int optionIndex);
+
+    QuizEngine.Status getStatus();
+
+    QuizEngine.Snapshot snapshot();
+
+    int getScore();
+
+    int getLives();
+
+    int getQuestionIndex();
+}
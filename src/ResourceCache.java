@@ -0,0 +1,213 @@
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Shared cache of fonts, colours and images
+ * - Fonts and colours are interned, so every widget using the same font or colour shares one instance
+ * - Images are decoded once, and scaled variants are kept per target size and display scale
+ * - Images are held through soft references, so they are dropped under memory pressure and decoded again when needed
+ * Hits and misses are counted in Metrics as "resources.<kind>.hits" and "resources.<kind>.misses"
+ * Safe to use from any thread
+ */
+public class ResourceCache {
+    private static final Map<FontKey, Font> fonts = new ConcurrentHashMap<>();
+    private static final Map<Integer, Color> colors = new ConcurrentHashMap<>();
+    private static final Map<String, ImageReference> images = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<BufferedImage> clearedImages = new ReferenceQueue<>();
+
+    private static final LongAdder fontHits = Metrics.counter("resources.fonts.hits");
+    private static final LongAdder fontMisses = Metrics.counter("resources.fonts.misses");
+    private static final LongAdder colorHits = Metrics.counter("resources.colors.hits");
+    private static final LongAdder colorMisses = Metrics.counter("resources.colors.misses");
+    private static final LongAdder imageHits = Metrics.counter("resources.images.hits");
+    private static final LongAdder imageMisses = Metrics.counter("resources.images.misses");
+
+    private record FontKey(String name, int style, int size) {
+    }
+
+    /**
+     * Soft reference that remembers its cache key, so cleared entries can be removed from the map
+     */
+    private static class ImageReference extends SoftReference<BufferedImage> {
+        final String key;
+
+        ImageReference(String key, BufferedImage image) {
+            super(image, clearedImages);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Gets a shared font
+     *
+     * @param name - Font family name
+     * @param style - Font style, e.g. Font.BOLD
+     * @param size - Point size
+     * @return the font
+     */
+    protected static Font font(String name, int style, int size) {
+        FontKey key = new FontKey(name, style, size);
+        Font font = fonts.get(key);
+        if (font != null) {
+            fontHits.increment();
+            return font;
+        }
+        fontMisses.increment();
+        return fonts.computeIfAbsent(key, k -> new Font(name, style, size));
+    }
+
+    /**
+     * Gets a shared opaque colour
+     *
+     * @param rgb - Colour as 0xRRGGBB
+     * @return the colour
+     */
+    protected static Color color(int rgb) {
+        Color color = colors.get(rgb);
+        if (color != null) {
+            colorHits.increment();
+            return color;
+        }
+        colorMisses.increment();
+        return colors.computeIfAbsent(rgb, Color::new);
+    }
+
+    /**
+     * Gets a shared opaque colour from a hex string, as accepted by Color.decode
+     *
+     * @param hex - Colour such as "#8F00FF"
+     * @return the colour
+     */
+    protected static Color color(String hex) {
+        return color(Integer.decode(hex));
+    }
+
+    /**
+     * Gets a decoded image, decoding it on first use or after it was dropped under memory pressure
+     *
+     * @param path - Image file path
+     * @return the decoded image
+     */
+    protected static BufferedImage image(String path) {
+        return cached(path, () -> {
+            try {
+                BufferedImage image = ImageIO.read(new File(path));
+                if (image == null) {
+                    throw new IOException("Unsupported image format: " + path);
+                }
+                return image;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load image: " + path, e);
+            }
+        });
+    }
+
+    /**
+     * Gets an image scaled to a size in device pixels
+     *
+     * @param path - Image file path
+     * @param width - Target width in pixels
+     * @param height - Target height in pixels
+     * @return the scaled image
+     */
+    protected static BufferedImage scaledImage(String path, int width, int height) {
+        return cached(path + "@" + width + "x" + height, () -> scale(image(path), width, height));
+    }
+
+    /**
+     * Gets an icon of an image at a size in user space
+     * On HiDPI displays the icon also carries a variant at the display's scale, which Swing paints instead
+     *
+     * @param path - Image file path
+     * @param width - Icon width
+     * @param height - Icon height
+     * @return the icon
+     */
+    protected static ImageIcon icon(String path, int width, int height) {
+        BufferedImage base = scaledImage(path, width, height);
+        double scale = displayScale();
+        if (scale <= 1) {
+            return new ImageIcon(base);
+        }
+        BufferedImage hiDpi = scaledImage(path, (int) Math.ceil(width * scale), (int) Math.ceil(height * scale));
+        return new ImageIcon(new BaseMultiResolutionImage(base, hiDpi));
+    }
+
+    private static double displayScale() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return 1;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().getDefaultTransform().getScaleX();
+    }
+
+    private static BufferedImage cached(String key, Supplier<BufferedImage> loader) {
+        removeClearedImages();
+        ImageReference reference = images.get(key);
+        BufferedImage image = reference != null ? reference.get() : null;
+        if (image != null) {
+            imageHits.increment();
+            return image;
+        }
+        imageMisses.increment();
+        image = loader.get();
+        images.put(key, new ImageReference(key, image));
+        return image;
+    }
+
+    private static void removeClearedImages() {
+        ImageReference reference;
+        while ((reference = (ImageReference) clearedImages.poll()) != null) {
+            images.remove(reference.key, reference);
+        }
+    }
+
+    /**
+     * Scales an image by repeated halving with bilinear filtering, which looks as smooth as
+     * Image.SCALE_SMOOTH at a fraction of the cost
+     *
+     * @param image - Image to scale
+     * @param width - Target width
+     * @param height - Target height
+     * @return the scaled image
+     */
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage scaled = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = step.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.drawImage(scaled, 0, 0, currentWidth, currentHeight, null);
+            g2.dispose();
+            scaled = step;
+        } while (currentWidth != width || currentHeight != height);
+        return scaled;
+    }
+
+    /**
+     * Summarizes the cache's hit and miss counts
+     *
+     * @return statistics text
+     */
+    protected static String getStats() {
+        return String.format("fonts %d hits / %d misses, colors %d hits / %d misses, images %d hits / %d misses (%d cached)",
+                fontHits.sum(), fontMisses.sum(), colorHits.sum(), colorMisses.sum(),
+                imageHits.sum(), imageMisses.sum(), images.size());
+    }
+}
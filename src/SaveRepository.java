@@ -0,0 +1,81 @@
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Storage for a single difficulty's saved games: SAVE_SLOTS save slots per player, plus an automatic history
+ * of each player's recent checkpoints
+ * Implementations hold no UI code and are picked at startup by Persistence
+ */
+public interface SaveRepository {
+    int SAVE_SLOTS = 3;
+    int HISTORY_SIZE = 10;
+
+    /**
+     * Loads one of a player's save slots
+     *
+     * @param username - Player's username
+     * @param saveSlot - Save slot to load
+     * @return the saved game state, or null if the save slot is empty
+     */
+    GameUtils.GameState load(String username, int saveSlot) throws IOException;
+
+    /**
+     * Loads all of a player's save slots
+     *
+     * @param username - Player's username
+     * @return saved game states indexed by save slot, with null for empty save slots
+     */
+    GameUtils.GameState[] list(String username) throws IOException;
+
+    /**
+     * Saves a player's game state to a save slot, replacing the save slot's previous save
+     *
+     * @param username - Player's username
+     * @param saveSlot - Save slot to write
+     * @param gameState - Game state to save
+     */
+    void save(String username, int saveSlot, GameUtils.GameState gameState) throws IOException;
+
+    /**
+     * Deletes one of a player's save slots
+     *
+     * @param username - Player's username
+     * @param saveSlot - Save slot to delete
+     * @return true if a save was deleted, false if the save slot was empty
+     */
+    boolean delete(String username, int saveSlot) throws IOException;
+
+    /**
+     * Appends a checkpoint to a player's history, dropping their oldest checkpoint beyond HISTORY_SIZE
+     *
+     * @param username - Player's username
+     * @param gameState - Game state to checkpoint
+     */
+    void checkpoint(String username, GameUtils.GameState gameState) throws IOException;
+
+    /**
+     * Gets a player's recent checkpoints
+     *
+     * @param username - Player's username
+     * @return checkpoints, newest first
+     */
+    List<GameUtils.GameState> history(String username) throws IOException;
+
+    /**
+     * Drops a player's checkpoints, e.g. once their game is over
+     *
+     * @param username - Player's username
+     */
+    void clearHistory(String username) throws IOException;
+
+    /**
+     * Checks that a save slot number is in range
+     *
+     * @param saveSlot - Save slot to check
+     */
+    static void checkSaveSlot(int saveSlot) {
+        if (saveSlot < 0 || saveSlot >= SAVE_SLOTS) {
+            throw new IllegalArgumentException("Save slot " + saveSlot + " of " + SAVE_SLOTS);
+        }
+    }
+}
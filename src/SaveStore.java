@@ -0,0 +1,677 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary save store for a single difficulty, kept in "saves/<difficulty> mode saves.dat"
+ * Each player has SAVE_SLOTS save slots, numbered from 0, and their checkpoint history is kept in a CheckpointLog
+ * The file is an open-addressing hash table of fixed-size slots keyed by username and save slot:
+ * - Header: magic, version, slot capacity (a power of two), number of slots that are not empty (ints)
+ * - Slot: state (byte), save slot (byte), username length (short), username (UTF-8, padded),
+ *   score, lives, questionIndex, CRC32 of everything before it (ints)
+ * Saves and deletes rewrite a single slot in place with one positional write, so lookups, updates and listing a
+ * player's save slots take constant time however many players there are
+ * Slots are placed by a murmur3 finalizer over the username and save slot, so similar usernames spread across the
+ * table instead of clustering, and a probe reads the rest of its shard in one positional read
+ * Files written with the previous hash (version 1) are rehashed into the current version when opened
+ * Files written before save slots existed hold zero in the save slot byte, so their saves become save slot 0
+ * A slot whose checksum does not match is treated as deleted, so a torn write loses at most that one save
+ * Saves from the text save file (see TextSaveStore) are imported the first time the store is created
+ * Several processes can share the file through its LockFile, which has a lock region for:
+ * - Each shard of SHARD_SLOTS consecutive slots, held shared to read the shards a probe runs through and
+ *   exclusive to write them, so processes saving different players rarely wait for each other
+ * - The header's count of non-empty slots, held while a save takes an empty slot
+ * Every region is locked at once while the table is created or resized, so lookups and saves only ever need the
+ * locks of their own shards
+ */
+public class SaveStore implements SaveRepository {
+    protected static final int MAGIC = 0x515A5356; // "QZSV"
+    protected static final int VERSION = 2;
+    private static final int REHASH_VERSION = 1;
+    protected static final int HEADER_SIZE = 16;
+    protected static final int SLOT_SIZE = 160;
+    protected static final int MAX_USERNAME_BYTES = 128;
+    protected static final int INITIAL_CAPACITY = 1024;
+    protected static final int SHARD_SLOTS = 64;
+    private static final double MAX_LOAD = 0.7;
+    private static final int SCAN_SLOTS = 512;
+
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+    private static final byte DELETED = 2;
+
+    private static final int OCCUPIED_OFFSET = 12;
+    private static final int NAME_OFFSET = 4;
+    private static final int DATA_OFFSET = NAME_OFFSET + MAX_USERNAME_BYTES;
+    private static final int CRC_OFFSET = DATA_OFFSET + 12;
+
+    private static final long HEADER_REGION = 1;
+    private static final long FIRST_SHARD_REGION = 2;
+
+    private final File file;
+    private final LockFile lockFile;
+    private final CheckpointLog checkpoints;
+    private FileChannel channel;
+    // Generation of the file the channel has open (see LockFile), which changes when another process resizes the table
+    private long generation;
+    private int capacity;
+    private int used;
+    private final ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+    // Slots read ahead by the running probe, as chunkSlots slots starting at chunkFirst
+    private final ByteBuffer chunk = ByteBuffer.allocate(SHARD_SLOTS * SLOT_SIZE);
+    private int chunkFirst;
+    private int chunkSlots;
+    private final ByteBuffer count = ByteBuffer.allocate(4);
+    private final CRC32 crc = new CRC32();
+    private FileLock tableLock;
+    // Shards locked by the running probe, as a run of lockedShards shards starting at firstLockedShard
+    private int firstLockedShard;
+    private int lockedShards;
+
+    private SaveStore(File file, CheckpointLog checkpoints) {
+        this.file = file;
+        this.lockFile = new LockFile(file);
+        this.checkpoints = checkpoints;
+    }
+
+    /**
+     * Opens a save store, creating its file on first use
+     *
+     * @param file - Save store file
+     * @param legacyFile - Text save file to import if the save store does not exist yet
+     * @param checkpoints - Checkpoint log holding the players' checkpoint histories
+     * @return the opened save store
+     */
+    protected static SaveStore open(File file, File legacyFile, CheckpointLog checkpoints) throws IOException {
+        File savesDirectory = file.getParentFile();
+        if (!savesDirectory.exists()) {
+            savesDirectory.mkdirs();
+        }
+        SaveStore store = new SaveStore(file, checkpoints);
+        FileLock lock = store.lockTable();
+        try {
+            store.open(legacyFile);
+        } finally {
+            lock.release();
+        }
+        return store;
+    }
+
+    private void open(File legacyFile) throws IOException {
+        if (!file.exists()) {
+            File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+            createFile(tempFile, INITIAL_CAPACITY);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            lockFile.replaced();
+            openChannel();
+            if (legacyFile.exists()) {
+                importLegacySaves(legacyFile);
+            }
+        } else if (openChannel() == REHASH_VERSION) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * Opens the file and counts its saves
+     * With the table locked exclusively, the header's count of non-empty slots is also corrected, e.g. for files
+     * written before it was kept
+     *
+     * @return the file's version, which is REHASH_VERSION if its saves still need rehashing
+     */
+    private int openChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        generation = lockFile.generation();
+        chunkSlots = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        int version = header.remaining() < HEADER_SIZE || header.getInt() != MAGIC ? 0 : header.getInt();
+        // Only the table lock's holder can rehash an old file, and every other process opens it after the rehash
+        if (version != VERSION && !(version == REHASH_VERSION && isTableLocked())) {
+            channel.close();
+            throw new IOException("Not a save store: " + file);
+        }
+        capacity = header.getInt();
+        int storedOccupied = header.getInt();
+
+        used = 0;
+        int occupied = 0;
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_SLOTS * SLOT_SIZE);
+        for (int first = 0; first < capacity; first += SCAN_SLOTS) {
+            int count = Math.min(SCAN_SLOTS, capacity - first);
+            scan.clear().limit(count * SLOT_SIZE);
+            readFully(scan, slotPosition(first));
+            for (int i = 0; i < count; i++) {
+                byte state = slotState(scan.array(), i * SLOT_SIZE);
+                if (state == USED) {
+                    used++;
+                }
+                if (state != EMPTY) {
+                    occupied++;
+                }
+            }
+        }
+        if (isTableLocked() && occupied != storedOccupied) {
+            writeOccupied(occupied);
+        }
+        return version;
+    }
+
+    /**
+     * Reopens the file if another process has replaced it since it was opened
+     * Must be called with the table locked
+     */
+    private void reopenIfReplaced() throws IOException {
+        if (lockFile.generation() != generation) {
+            openChannel();
+        }
+    }
+
+    private static void createFile(File target, int capacity) throws IOException {
+        try (FileChannel output = FileChannel.open(target.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(capacity).putInt(0);
+            header.flip();
+            output.write(header, 0);
+            // Extending the file with a single zero byte at the end leaves every slot EMPTY
+            output.write(ByteBuffer.allocate(1), HEADER_SIZE + (long) capacity * SLOT_SIZE - 1);
+        }
+    }
+
+    /**
+     * Imports a text save file, with the table locked exclusively
+     */
+    private void importLegacySaves(File legacyFile) throws IOException {
+        for (Map.Entry<String, GameUtils.GameState[]> entry : TextSaveStore.read(legacyFile).entrySet()) {
+            GameUtils.GameState[] saves = entry.getValue();
+            for (int saveSlot = 0; saveSlot < saves.length; saveSlot++) {
+                if (saves[saveSlot] == null) {
+                    continue;
+                }
+                try {
+                    byte[] name = encodeUsername(entry.getKey());
+                    while (!put(name, saveSlot, saves[saveSlot])) {
+                        grow();
+                    }
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Skipping save entry that could not be imported: " + entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads one of a player's save slots
+     *
+     * @param username - Player's username
+     * @param saveSlot - Save slot to load
+     * @return the saved game state, or null if the save slot is empty
+     */
+    @Override
+    public synchronized GameUtils.GameState load(String username, int saveSlot) throws IOException {
+        SaveRepository.checkSaveSlot(saveSlot);
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_USERNAME_BYTES) {
+            return null;
+        }
+        return probe(name, saveSlot, true, () -> find(name, saveSlot) >= 0 ? readGameState() : null);
+    }
+
+    /**
+     * Loads all of a player's save slots
+     *
+     * @param username - Player's username
+     * @return saved game states indexed by save slot, with null for empty save slots
+     */
+    @Override
+    public synchronized GameUtils.GameState[] list(String username) throws IOException {
+        GameUtils.GameState[] saves = new GameUtils.GameState[SAVE_SLOTS];
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        if (name.length <= MAX_USERNAME_BYTES) {
+            for (int saveSlot = 0; saveSlot < SAVE_SLOTS; saveSlot++) {
+                int probedSlot = saveSlot;
+                saves[saveSlot] = probe(name, saveSlot, true, () -> find(name, probedSlot) >= 0 ? readGameState() : null);
+            }
+        }
+        return saves;
+    }
+
+    private GameUtils.GameState readGameState() {
+        return new GameUtils.GameState(slot.getInt(DATA_OFFSET), slot.getInt(DATA_OFFSET + 4), slot.getInt(DATA_OFFSET + 8));
+    }
+
+    /**
+     * Saves a player's game state to a save slot, replacing the save slot's previous save
+     * If the table is too full to take a new save, it is grown with the table locked exclusively and the save retried
+     *
+     * @param username - Player's username
+     * @param saveSlot - Save slot to write
+     * @param gameState - Game state to save
+     */
+    @Override
+    public synchronized void save(String username, int saveSlot, GameUtils.GameState gameState) throws IOException {
+        SaveRepository.checkSaveSlot(saveSlot);
+        byte[] name = encodeUsername(username);
+        while (!probe(name, saveSlot, false, () -> put(name, saveSlot, gameState))) {
+            FileLock table = lockTable();
+            try {
+                grow();
+            } finally {
+                table.release();
+            }
+        }
+    }
+
+    /**
+     * Writes a save to its slot, taking an empty slot for a new save if the table has room
+     *
+     * @return false if the table is too full to take the save
+     */
+    private boolean put(byte[] name, int saveSlot, GameUtils.GameState gameState) throws IOException {
+        int index = find(name, saveSlot);
+        if (index < 0) {
+            index = findFree(name, saveSlot);
+            if (readSlot(index) == EMPTY && !takeEmptySlot()) {
+                return false;
+            }
+            used++;
+        }
+        writeSlot(index, USED, saveSlot, name, gameState.getScore(), gameState.getLives(), gameState.getQuestionIndex());
+        return true;
+    }
+
+    /**
+     * Counts a newly taken empty slot in the header, which all processes share
+     * The header's lock is taken while shard locks are held, but nothing else is locked while it is held, so it
+     * cannot deadlock
+     *
+     * @return false if the table is too full to take another slot
+     */
+    private boolean takeEmptySlot() throws IOException {
+        FileLock lock = isTableLocked() ? null : lockFile.lock(HEADER_REGION, false);
+        try {
+            int occupied = readOccupied();
+            if (occupied + 1 > capacity * MAX_LOAD) {
+                return false;
+            }
+            writeOccupied(occupied + 1);
+            return true;
+        } finally {
+            if (lock != null) {
+                lock.close();
+            }
+        }
+    }
+
+    /**
+     * Grows the table if it is still too full once any other process has had its turn, with the table locked
+     * exclusively
+     * Rebuilding into the same capacity is enough when most of the non-empty slots are deleted saves
+     */
+    private void grow() throws IOException {
+        // Recounted, as other processes may have added and deleted saves since this one last counted them
+        openChannel();
+        if (readOccupied() + 1 > capacity * MAX_LOAD) {
+            resize(used + 1 > capacity * MAX_LOAD / 2 ? capacity * 2 : capacity);
+        }
+    }
+
+    /**
+     * Deletes one of a player's save slots
+     *
+     * @param username - Player's username
+     * @param saveSlot - Save slot to delete
+     * @return true if a save was deleted, false if the save slot was empty
+     */
+    @Override
+    public synchronized boolean delete(String username, int saveSlot) throws IOException {
+        SaveRepository.checkSaveSlot(saveSlot);
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_USERNAME_BYTES) {
+            return false;
+        }
+        return probe(name, saveSlot, false, () -> {
+            int index = find(name, saveSlot);
+            if (index < 0) {
+                return false;
+            }
+            writeSlot(index, DELETED, saveSlot, name, 0, 0, 0);
+            used--;
+            return true;
+        });
+    }
+
+    @Override
+    public void checkpoint(String username, GameUtils.GameState gameState) throws IOException {
+        checkpoints.append(username, gameState);
+    }
+
+    @Override
+    public List<GameUtils.GameState> history(String username) throws IOException {
+        return checkpoints.history(username);
+    }
+
+    @Override
+    public void clearHistory(String username) throws IOException {
+        checkpoints.clear(username);
+    }
+
+    /**
+     * Gets the number of saves in the store, as of the last time this process counted them plus its own changes
+     *
+     * @return save count
+     */
+    protected synchronized int size() {
+        return used;
+    }
+
+    /**
+     * Locks every region, for creating or resizing the table, and reopens the file if another process has resized
+     * it since
+     *
+     * @return the table lock
+     */
+    private FileLock lockTable() throws IOException {
+        tableLock = lockFile.lock(LockFile.FILE, Long.MAX_VALUE, false);
+        try {
+            if (channel != null) {
+                reopenIfReplaced();
+            }
+        } catch (IOException | RuntimeException e) {
+            tableLock.close();
+            throw e;
+        }
+        return tableLock;
+    }
+
+    /**
+     * Checks whether this process holds the table lock, which covers every shard and the header
+     */
+    private boolean isTableLocked() {
+        return tableLock != null && tableLock.isValid();
+    }
+
+    /**
+     * Runs a probe from a username's home slot, holding the locks of the shards it reads and writes
+     * The shards a probe runs through are only known once it has run, so a probe that runs past its locked shards
+     * is retried with the next shard locked too
+     * Shards are always locked in ascending region order, so processes waiting for each other cannot deadlock
+     *
+     * @param name - Encoded username
+     * @param saveSlot - Save slot being probed for
+     * @param shared - true if the probe only reads slots
+     * @param task - Probe to run
+     * @return the probe's result
+     */
+    private <T> T probe(byte[] name, int saveSlot, boolean shared, ProbeTask<T> task) throws IOException {
+        // Slots read ahead by an earlier probe may since have been changed by another process
+        chunkSlots = 0;
+        if (isTableLocked()) {
+            return task.run();
+        }
+        lockedShards = 1;
+        while (true) {
+            int shards = Math.max(1, capacity / SHARD_SLOTS);
+            firstLockedShard = (hash(name, saveSlot) & (capacity - 1)) / SHARD_SLOTS;
+            List<FileLock> locks = new ArrayList<>(lockedShards);
+            try {
+                // Shards past the end of the table wrap around to the first ones, which come first in region order
+                for (int shard = 0; shard < shards; shard++) {
+                    if (isShardLocked(shard, shards)) {
+                        locks.add(lockFile.lock(FIRST_SHARD_REGION + shard, shared));
+                    }
+                }
+                // A resize holds every region, so the generation cannot change while a shard is locked
+                if (lockFile.generation() != generation) {
+                    // Resized by another process, which moves every save, so the probe starts over in the new file
+                    openChannel();
+                    lockedShards = 1;
+                    continue;
+                }
+                chunkSlots = 0;
+                return task.run();
+            } catch (ProbeOutsideLocks e) {
+                lockedShards = Math.min(shards, lockedShards + 1);
+            } finally {
+                for (FileLock lock : locks) {
+                    lock.close();
+                }
+            }
+        }
+    }
+
+    private boolean isShardLocked(int shard, int shards) {
+        return Math.floorMod(shard - firstLockedShard, shards) < lockedShards;
+    }
+
+    @FunctionalInterface
+    private interface ProbeTask<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Thrown when a probe reaches a slot in a shard it has not locked
+     */
+    private static class ProbeOutsideLocks extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ProbeOutsideLocks() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Probes for the slot holding a username's save slot, leaving it in the shared slot buffer
+     *
+     * @return the slot index, or -1 if the save slot is empty
+     */
+    private int find(byte[] name, int saveSlot) throws IOException {
+        int mask = capacity - 1;
+        int index = hash(name, saveSlot) & mask;
+        for (int probes = 0; probes < capacity; probes++) {
+            byte state = readSlot(index);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == USED && slot.get(1) == saveSlot && nameMatches(name)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Probes for the first slot a new username can be written to, reusing deleted or corrupted slots
+     */
+    private int findFree(byte[] name, int saveSlot) throws IOException {
+        int mask = capacity - 1;
+        int index = hash(name, saveSlot) & mask;
+        while (readSlot(index) == USED) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Rebuilds the table into a new file with the given capacity, dropping deleted and corrupted slots
+     */
+    private void resize(int newCapacity) throws IOException {
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        createFile(tempFile, newCapacity);
+        try (FileChannel output = FileChannel.open(tempFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int mask = newCapacity - 1;
+            ByteBuffer probe = ByteBuffer.allocate(1);
+            int copied = 0;
+            for (int i = 0; i < capacity; i++) {
+                if (readSlot(i) != USED) {
+                    continue;
+                }
+                byte[] name = Arrays.copyOfRange(slot.array(), NAME_OFFSET, NAME_OFFSET + (slot.getShort(2) & 0xFFFF));
+                int index = hash(name, slot.get(1)) & mask;
+                while (true) {
+                    probe.clear();
+                    output.read(probe, slotPosition(index));
+                    if (probe.get(0) == EMPTY) {
+                        break;
+                    }
+                    index = (index + 1) & mask;
+                }
+                slot.clear();
+                output.write(slot, slotPosition(index));
+                copied++;
+            }
+            output.write(ByteBuffer.allocate(4).putInt(0, copied), OCCUPIED_OFFSET);
+            output.force(true);
+        }
+        channel.close();
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lockFile.replaced();
+        openChannel();
+    }
+
+    /**
+     * Reads a slot into the shared slot buffer and validates it
+     * A slot that has not been read ahead is read with the rest of its shard, which the probe holds locked, so a
+     * probe makes one positional read per shard it runs through rather than one per slot
+     *
+     * @return the slot's state, with corrupted slots reported as DELETED
+     */
+    private byte readSlot(int index) throws IOException {
+        if (!isTableLocked() && !isShardLocked(index / SHARD_SLOTS, Math.max(1, capacity / SHARD_SLOTS))) {
+            throw new ProbeOutsideLocks();
+        }
+        if (index < chunkFirst || index >= chunkFirst + chunkSlots) {
+            chunkFirst = index;
+            chunkSlots = Math.min((index / SHARD_SLOTS + 1) * SHARD_SLOTS, capacity) - index;
+            chunk.clear().limit(chunkSlots * SLOT_SIZE);
+            readFully(chunk, slotPosition(index));
+        }
+        slot.clear();
+        System.arraycopy(chunk.array(), (index - chunkFirst) * SLOT_SIZE, slot.array(), 0, SLOT_SIZE);
+        return slotState(slot.array(), 0);
+    }
+
+    private int readOccupied() throws IOException {
+        count.clear();
+        readFully(count, OCCUPIED_OFFSET);
+        return count.getInt(0);
+    }
+
+    private void writeOccupied(int occupied) throws IOException {
+        count.clear();
+        count.putInt(0, occupied);
+        while (count.hasRemaining()) {
+            channel.write(count, OCCUPIED_OFFSET + count.position());
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position() - start) < 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Validates a slot's state and checksum
+     *
+     * @param bytes - Buffer holding the slot
+     * @param offset - Start of the slot in the buffer
+     * @return the slot's state, with corrupted slots reported as DELETED
+     */
+    private byte slotState(byte[] bytes, int offset) {
+        byte state = bytes[offset];
+        if (state == EMPTY && isZeroed(bytes, offset)) {
+            return EMPTY;
+        }
+        crc.reset();
+        crc.update(bytes, offset, CRC_OFFSET);
+        int storedCrc = ByteBuffer.wrap(bytes, offset + CRC_OFFSET, 4).getInt();
+        if ((int) crc.getValue() != storedCrc || (state != USED && state != DELETED)) {
+            return DELETED;
+        }
+        return state;
+    }
+
+    private static boolean isZeroed(byte[] bytes, int offset) {
+        for (int i = offset; i < offset + SLOT_SIZE; i++) {
+            if (bytes[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeSlot(int index, byte state, int saveSlot, byte[] name, int score, int lives, int questionIndex) throws IOException {
+        slot.clear();
+        Arrays.fill(slot.array(), (byte) 0);
+        slot.put(0, state);
+        slot.put(1, (byte) saveSlot);
+        slot.putShort(2, (short) name.length);
+        slot.put(NAME_OFFSET, name);
+        slot.putInt(DATA_OFFSET, score);
+        slot.putInt(DATA_OFFSET + 4, lives);
+        slot.putInt(DATA_OFFSET + 8, questionIndex);
+        crc.reset();
+        crc.update(slot.array(), 0, CRC_OFFSET);
+        slot.putInt(CRC_OFFSET, (int) crc.getValue());
+
+        if (index >= chunkFirst && index < chunkFirst + chunkSlots) {
+            System.arraycopy(slot.array(), 0, chunk.array(), (index - chunkFirst) * SLOT_SIZE, SLOT_SIZE);
+        }
+        long position = slotPosition(index);
+        while (slot.hasRemaining()) {
+            channel.write(slot, position + slot.position());
+        }
+    }
+
+    private boolean nameMatches(byte[] name) {
+        if ((slot.getShort(2) & 0xFFFF) != name.length) {
+            return false;
+        }
+        return Arrays.equals(slot.array(), NAME_OFFSET, NAME_OFFSET + name.length, name, 0, name.length);
+    }
+
+    private static byte[] encodeUsername(String username) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_USERNAME_BYTES) {
+            throw new IllegalArgumentException("Username is too long to save: " + username);
+        }
+        return name;
+    }
+
+    /**
+     * Hashes a username and save slot with murmur3's 32-bit finalizer, which spreads every input bit across the
+     * result, so usernames that differ only in their last characters do not land in neighbouring slots
+     */
+    private static int hash(byte[] name, int saveSlot) {
+        int h = Arrays.hashCode(name) + saveSlot * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private static long slotPosition(int index) {
+        return HEADER_SIZE + (long) index * SLOT_SIZE;
+    }
+}
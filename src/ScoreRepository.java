@@ -0,0 +1,58 @@
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Storage for a single difficulty's leaderboard, keeping each player's best score
+ * Implementations hold no UI code and are picked at startup by Persistence
+ */
+public interface ScoreRepository {
+    /**
+     * Submits a finished game's score, only recording it if it beats the player's best
+     *
+     * @param username - Player's username
+     * @param score - Player's final score
+     * @return true if the player's best score changed
+     */
+    boolean submit(String username, int score) throws IOException;
+
+    /**
+     * Gets a player's best score
+     *
+     * @param username - Player's username
+     * @return the player's score, or null if they have no recorded score
+     */
+    GameUtils.PlayerScore getScore(String username);
+
+    /**
+     * Gets the number of players on the leaderboard
+     *
+     * @return player count
+     */
+    int size();
+
+    /**
+     * Gets a page of the ranking
+     *
+     * @param offset - Rank of the first entry (0 is the top scorer)
+     * @param limit - Maximum number of entries
+     * @return scores in descending order
+     */
+    List<GameUtils.PlayerScore> getTopScores(int offset, int limit);
+
+    /**
+     * Gets the full ranking
+     *
+     * @return all scores in descending order
+     */
+    List<GameUtils.PlayerScore> getScores();
+
+    /**
+     * Writes any scores still buffered in memory
+     */
+    void flush() throws IOException;
+
+    /**
+     * Picks up scores other processes sharing the leaderboard have written since it was opened or last refreshed
+     */
+    void refresh() throws IOException;
+}
@@ -0,0 +1,136 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the frame's CardLayout screens
+ * Each screen is built once by its factory and reused afterwards, so showing a screen again only rebinds it to new data
+ * Screens that have not been shown recently are removed from the panel once more cards are live than the budget
+ * allows (set with the "queeze.screens.maxLive" system property), and are rebuilt the next time they are needed
+ * Screen builds and switches are timed in Metrics as "screen.build" and "screen.show"
+ */
+public class ScreenRegistry {
+    protected static final int DEFAULT_MAX_LIVE_CARDS = 5;
+
+    private static final LatencyHistogram buildTimer = Metrics.timer("screen.build");
+    private static final LatencyHistogram showTimer = Metrics.timer("screen.show");
+
+    private final JPanel panel;
+    private final CardLayout cardLayout;
+    private final int maxLiveCards;
+    private final Map<String, Supplier<? extends JComponent>> factories = new HashMap<>();
+    private final LinkedHashMap<String, JComponent> liveScreens = new LinkedHashMap<>(16, 0.75f, true);
+    private String currentScreen;
+
+    /**
+     * Creates a registry for the frame's main panel
+     *
+     * @param panel - The frame's main panel
+     * @param cardLayout - The main panel's CardLayout
+     */
+    public ScreenRegistry(JPanel panel, CardLayout cardLayout) {
+        this.panel = panel;
+        this.cardLayout = cardLayout;
+        this.maxLiveCards = Math.max(1, Integer.getInteger("queeze.screens.maxLive", DEFAULT_MAX_LIVE_CARDS));
+    }
+
+    /**
+     * Registers the factory used to build a screen
+     *
+     * @param name - Card name of the screen
+     * @param factory - Builds the screen's component
+     */
+    protected void register(String name, Supplier<? extends JComponent> factory) {
+        factories.put(name, factory);
+    }
+
+    /**
+     * Gets a screen's component, building it and adding it as a card if it is not live
+     *
+     * @param name - Card name of the screen
+     * @return the screen's component
+     */
+    @SuppressWarnings("unchecked")
+    protected <T extends JComponent> T get(String name) {
+        JComponent screen = liveScreens.get(name);
+        if (screen == null) {
+            Supplier<? extends JComponent> factory = factories.get(name);
+            if (factory == null) {
+                throw new IllegalArgumentException("Unknown screen: " + name);
+            }
+            long start = System.nanoTime();
+            screen = factory.get();
+            panel.add(screen, name);
+            liveScreens.put(name, screen);
+            buildTimer.recordSince(start);
+        }
+        return (T) screen;
+    }
+
+    /**
+     * Shows a screen, building it first if needed, then evicts the least recently shown screens over the budget
+     *
+     * @param name - Card name of the screen
+     */
+    protected void show(String name) {
+        GameEvents.ScreenSwitched event = new GameEvents.ScreenSwitched();
+        event.begin();
+        long start = System.nanoTime();
+        boolean built = !liveScreens.containsKey(name);
+        String previousScreen = currentScreen;
+        get(name);
+        currentScreen = name;
+        cardLayout.show(panel, name);
+        evict();
+        showTimer.recordSince(start);
+
+        if (event.shouldCommit()) {
+            event.screen = name;
+            event.previousScreen = previousScreen;
+            event.built = built;
+            event.commit();
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, JComponent>> iterator = liveScreens.entrySet().iterator();
+        while (liveScreens.size() > maxLiveCards && iterator.hasNext()) {
+            Map.Entry<String, JComponent> entry = iterator.next();
+            if (!entry.getKey().equals(currentScreen)) {
+                panel.remove(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the frame's main panel the screens are added to
+     *
+     * @return the main panel
+     */
+    protected JPanel getPanel() {
+        return panel;
+    }
+
+    /**
+     * Gets the name of the screen currently shown
+     *
+     * @return card name, or null if no screen has been shown through the registry
+     */
+    protected String getCurrentScreen() {
+        return currentScreen;
+    }
+
+    /**
+     * Gets the number of screens currently added to the panel
+     *
+     * @return live card count
+     */
+    protected int getLiveCardCount() {
+        return liveScreens.size();
+    }
+}
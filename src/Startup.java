@@ -0,0 +1,95 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Startup sequencing and latency logging
+ * In fast startup mode (the default, turned off with -Dqueeze.fastStartup=false) only the frame and main menu
+ * are built before the first frame; everything else is deferred to first use or to idle-time preparation
+ * Logs, measured from JVM start:
+ * - Time to first frame: the main menu's first paint
+ * - Time to first interactive frame: the Event Dispatch Thread becoming idle after the first frame, so clicks
+ *   are handled immediately
+ */
+public class Startup {
+    protected static final boolean FAST = !"false".equals(System.getProperty("queeze.fastStartup"));
+    // How long to wait before retrying an idle task when the event queue is busy
+    private static final int IDLE_RETRY_MILLIS = 50;
+
+    private static final long jvmStartMillis = ProcessHandle.current().info().startInstant()
+            .map(instant -> instant.toEpochMilli())
+            .orElse(System.currentTimeMillis());
+    private static final Queue<Runnable> idleTasks = new ArrayDeque<>();
+    private static final List<Runnable> interactiveTasks = new ArrayList<>();
+    private static long firstFrameMillis = -1;
+    private static boolean idleScheduled;
+
+    /**
+     * Records the first frame being painted, then waits for the EDT to go idle to record the first interactive frame
+     * Only the first call has any effect; must be called on the EDT
+     */
+    protected static void firstFramePainted() {
+        if (firstFrameMillis >= 0) {
+            return;
+        }
+        firstFrameMillis = System.currentTimeMillis() - jvmStartMillis;
+        runWhenIdle(() -> {
+            long interactiveMillis = System.currentTimeMillis() - jvmStartMillis;
+            System.out.println("Startup: first frame " + firstFrameMillis + " ms, first interactive frame "
+                    + interactiveMillis + " ms after JVM start" + (FAST ? " (fast startup)" : ""));
+            for (Runnable task : interactiveTasks) {
+                runWhenIdle(task);
+            }
+            interactiveTasks.clear();
+        });
+    }
+
+    /**
+     * Queues a task to run when idle once the first interactive frame has been reached
+     * Used for preparing work deferred from startup; must be called on the EDT
+     *
+     * @param task - Task to run
+     */
+    protected static void runWhenInteractive(Runnable task) {
+        interactiveTasks.add(task);
+    }
+
+    /**
+     * Runs a task on the EDT once no other events are waiting, so it never delays user input
+     * Tasks run one at a time, in the order they were added; must be called on the EDT
+     *
+     * @param task - Task to run
+     */
+    protected static void runWhenIdle(Runnable task) {
+        idleTasks.add(task);
+        scheduleIdle(0);
+    }
+
+    private static void scheduleIdle(int delayMillis) {
+        if (idleScheduled) {
+            return;
+        }
+        idleScheduled = true;
+        Timer timer = new Timer(delayMillis, e -> runNextIdleTask());
+        timer.setRepeats(false);
+        timer.start();
+    }
+
+    private static void runNextIdleTask() {
+        idleScheduled = false;
+        if (Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent() != null) {
+            scheduleIdle(IDLE_RETRY_MILLIS);
+            return;
+        }
+        Runnable task = idleTasks.poll();
+        if (task != null) {
+            task.run();
+        }
+        if (!idleTasks.isEmpty()) {
+            scheduleIdle(0);
+        }
+    }
+}
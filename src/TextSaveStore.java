@@ -0,0 +1,198 @@
+import java.io.*;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Text save store for a single difficulty, kept in "saves/<difficulty> mode saves.txt"
+ * This is the save format the game used before the binary save store, one line per save:
+ * - "username:score:lives:questionIndex" for save slot 0, which is all older versions wrote
+ * - "username:score:lives:questionIndex:saveSlot" for the other save slots
+ * Saves are held in memory and every change rewrites the whole file, replacing the old one atomically
+ * Several processes can share the file through its LockFile: changes are made under an exclusive lock, after
+ * rereading the file if another process has replaced it since, so no process writes back saves it has not seen
+ * Checkpoint histories are kept in a CheckpointLog, as there is no text format for them
+ */
+public class TextSaveStore implements SaveRepository {
+    private final File file;
+    private final LockFile lockFile;
+    private final CheckpointLog checkpoints;
+    private Map<String, GameUtils.GameState[]> saves = new LinkedHashMap<>();
+    // Generation of the file the saves in memory were read from or written to (see LockFile)
+    private long generation = -1;
+
+    private TextSaveStore(File file, CheckpointLog checkpoints) {
+        this.file = file;
+        this.lockFile = new LockFile(file);
+        this.checkpoints = checkpoints;
+    }
+
+    /**
+     * Opens a text save store, reading its file if it exists
+     *
+     * @param file - Save file
+     * @param checkpoints - Checkpoint log holding the players' checkpoint histories
+     * @return the opened save store
+     */
+    protected static TextSaveStore open(File file, CheckpointLog checkpoints) throws IOException {
+        TextSaveStore store = new TextSaveStore(file, checkpoints);
+        FileLock lock = store.lockFile.lock(LockFile.FILE, true);
+        try {
+            store.refresh();
+        } finally {
+            lock.release();
+        }
+        return store;
+    }
+
+    /**
+     * Rereads the save file if another process has replaced it since it was last read or written
+     * Must be called with the lock held
+     */
+    private void refresh() throws IOException {
+        long current = lockFile.generation();
+        if (current != generation) {
+            saves = read(file);
+            generation = current;
+        }
+    }
+
+    /**
+     * Reads every save in a text save file
+     * Lines that are not in either save format are skipped
+     *
+     * @param file - Save file to read
+     * @return saves indexed by save slot, keyed by username, in file order
+     */
+    protected static Map<String, GameUtils.GameState[]> read(File file) throws IOException {
+        Map<String, GameUtils.GameState[]> saves = new LinkedHashMap<>();
+        if (!file.exists()) {
+            return saves;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] variables = line.split(":");
+                if (variables.length != 4 && variables.length != 5) {
+                    continue;
+                }
+                try {
+                    int saveSlot = variables.length == 5 ? Integer.parseInt(variables[4]) : 0;
+                    SaveRepository.checkSaveSlot(saveSlot);
+                    saves.computeIfAbsent(variables[0], username -> new GameUtils.GameState[SAVE_SLOTS])[saveSlot] =
+                            new GameUtils.GameState(Integer.parseInt(variables[1]), Integer.parseInt(variables[2]),
+                                    Integer.parseInt(variables[3]));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Skipping malformed save entry: " + line);
+                }
+            }
+        }
+        return saves;
+    }
+
+    @Override
+    public synchronized GameUtils.GameState load(String username, int saveSlot) throws IOException {
+        SaveRepository.checkSaveSlot(saveSlot);
+        FileLock lock = lockFile.lock(LockFile.FILE, true);
+        try {
+            refresh();
+        } finally {
+            lock.release();
+        }
+        GameUtils.GameState[] playerSaves = saves.get(username);
+        return playerSaves == null ? null : playerSaves[saveSlot];
+    }
+
+    @Override
+    public synchronized GameUtils.GameState[] list(String username) throws IOException {
+        FileLock lock = lockFile.lock(LockFile.FILE, true);
+        try {
+            refresh();
+        } finally {
+            lock.release();
+        }
+        GameUtils.GameState[] playerSaves = saves.get(username);
+        return playerSaves == null ? new GameUtils.GameState[SAVE_SLOTS] : playerSaves.clone();
+    }
+
+    @Override
+    public synchronized void save(String username, int saveSlot, GameUtils.GameState gameState) throws IOException {
+        SaveRepository.checkSaveSlot(saveSlot);
+        if (username.contains(":") || username.contains("\n")) {
+            throw new IllegalArgumentException("Username cannot be saved as text: " + username);
+        }
+        FileLock lock = lockFile.lock(LockFile.FILE, false);
+        try {
+            refresh();
+            saves.computeIfAbsent(username, name -> new GameUtils.GameState[SAVE_SLOTS])[saveSlot] = gameState;
+            write();
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Override
+    public synchronized boolean delete(String username, int saveSlot) throws IOException {
+        SaveRepository.checkSaveSlot(saveSlot);
+        FileLock lock = lockFile.lock(LockFile.FILE, false);
+        try {
+            refresh();
+            GameUtils.GameState[] playerSaves = saves.get(username);
+            if (playerSaves == null || playerSaves[saveSlot] == null) {
+                return false;
+            }
+            playerSaves[saveSlot] = null;
+            if (Arrays.stream(playerSaves).allMatch(Objects::isNull)) {
+                saves.remove(username);
+            }
+            write();
+            return true;
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * Rewrites the save file from the saves in memory, replacing the old file atomically
+     */
+    private void write() throws IOException {
+        File savesDirectory = file.getParentFile();
+        if (!savesDirectory.exists()) {
+            savesDirectory.mkdirs();
+        }
+        File tempFile = new File(savesDirectory, file.getName() + ".tmp");
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, GameUtils.GameState[]> entry : saves.entrySet()) {
+                GameUtils.GameState[] playerSaves = entry.getValue();
+                for (int saveSlot = 0; saveSlot < playerSaves.length; saveSlot++) {
+                    GameUtils.GameState gameState = playerSaves[saveSlot];
+                    if (gameState == null) {
+                        continue;
+                    }
+                    writer.write(entry.getKey() + ":" + gameState.getScore() + ":" + gameState.getLives() + ":"
+                            + gameState.getQuestionIndex() + (saveSlot == 0 ? "" : ":" + saveSlot));
+                    writer.newLine();
+                }
+            }
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        generation = lockFile.replaced();
+    }
+
+    @Override
+    public void checkpoint(String username, GameUtils.GameState gameState) throws IOException {
+        checkpoints.append(username, gameState);
+    }
+
+    @Override
+    public List<GameUtils.GameState> history(String username) throws IOException {
+        return checkpoints.history(username);
+    }
+
+    @Override
+    public void clearHistory(String username) throws IOException {
+        checkpoints.clear(username);
+    }
+}
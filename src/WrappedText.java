@@ -0,0 +1,252 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineBreakMeasurer;
+import java.awt.font.TextAttribute;
+import java.awt.font.TextLayout;
+import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight component showing wrapped, centred text
+ * Replaces HTML labels, which run Swing's HTML parser and build a new view tree on every setText
+ * Lines are broken with a LineBreakMeasurer and kept as TextLayouts, cached per text, font and wrap width,
+ * so a question seen before is never measured again
+ * A "\n" in the text starts a new line
+ */
+public class WrappedText extends JComponent {
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_CACHED_LAYOUTS = 128;
+    private static final Map<LayoutKey, Layout> layoutCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LayoutKey, Layout> eldest) {
+            return size() > MAX_CACHED_LAYOUTS;
+        }
+    };
+    // Layouts are always measured with antialiased, fractional metrics, and painted with matching hints
+    private static final FontRenderContext RENDER_CONTEXT = new FontRenderContext(null, true, true);
+
+    private final int wrapWidth;
+    private String text = "";
+    private transient Layout layout;
+
+    /**
+     * Creates an empty wrapped text component
+     *
+     * @param wrapWidth - Width in pixels at which lines are wrapped
+     * @param fontSize - Font size of text
+     * @param color - Color of text
+     */
+    public WrappedText(int wrapWidth, int fontSize, Color color) {
+        this.wrapWidth = wrapWidth;
+        setFont(ResourceCache.font("Poppins", Font.BOLD, fontSize));
+        setForeground(color);
+    }
+
+    /**
+     * Gets the text being shown
+     *
+     * @return the text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Sets the text to show, only revalidating if its wrapped height changed
+     *
+     * @param text - Text to show
+     */
+    public void setText(String text) {
+        String newText = text == null ? "" : text;
+        if (!newText.equals(this.text)) {
+            setText(layout(newText, getFont(), wrapWidth));
+        }
+    }
+
+    /**
+     * Shows text that was already wrapped, e.g. by a background thread, only revalidating if its height changed
+     * The layout must have been made with this component's font and wrap width
+     *
+     * @param layout - Wrapped text to show
+     */
+    public void setText(Layout layout) {
+        float oldHeight = this.layout != null ? this.layout.height : -1;
+        this.text = layout.text;
+        this.layout = layout;
+        if (layout.height != oldHeight) {
+            revalidate();
+        }
+        repaint();
+    }
+
+    /**
+     * Gets the width at which lines are wrapped
+     *
+     * @return wrap width in pixels
+     */
+    public int getWrapWidth() {
+        return wrapWidth;
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        layout = null;
+    }
+
+    private Layout getTextLayout() {
+        if (layout == null) {
+            layout = layout(text, getFont(), wrapWidth);
+        }
+        return layout;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        return new Dimension(wrapWidth + insets.left + insets.right,
+                (int) Math.ceil(getTextLayout().height) + insets.top + insets.bottom);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Insets insets = getInsets();
+        Rectangle bounds = new Rectangle(insets.left, insets.top, getWidth() - insets.left - insets.right,
+                getHeight() - insets.top - insets.bottom);
+        getTextLayout().draw((Graphics2D) g, bounds, getForeground());
+    }
+
+    /**
+     * Gets the wrapped lines of a text, measuring them only if they are not cached
+     * Safe to call from any thread, so text can be measured before it is shown
+     *
+     * @param text - Text to wrap
+     * @param font - Font of text
+     * @param wrapWidth - Width in pixels at which lines are wrapped
+     * @return the wrapped lines
+     */
+    protected static Layout layout(String text, Font font, int wrapWidth) {
+        LayoutKey key = new LayoutKey(text, font, wrapWidth);
+        synchronized (layoutCache) {
+            Layout layout = layoutCache.get(key);
+            if (layout != null) {
+                return layout;
+            }
+        }
+        // Measured outside the lock, so the Event Dispatch Thread never waits on a background measurement
+        Layout layout = new Layout(text, font, Math.max(1, wrapWidth));
+        synchronized (layoutCache) {
+            layoutCache.put(key, layout);
+        }
+        return layout;
+    }
+
+    private record LayoutKey(String text, Font font, int wrapWidth) {
+    }
+
+    /**
+     * Text broken into lines that fit a wrap width
+     */
+    protected static class Layout {
+        private final String text;
+        private final Font font;
+        private final int wrapWidth;
+        private final TextLayout[] lines;
+        // Lines left as null are blank, and take up blankLineHeight
+        private final float blankLineHeight;
+        private final float height;
+
+        private Layout(String text, Font font, int wrapWidth) {
+            this.text = text;
+            this.font = font;
+            this.wrapWidth = wrapWidth;
+            String[] paragraphs = text.split("\n", -1);
+            List<TextLayout> wrapped = new ArrayList<>();
+            for (String paragraph : paragraphs) {
+                if (paragraph.isBlank()) {
+                    wrapped.add(null);
+                    continue;
+                }
+                AttributedString attributed = new AttributedString(paragraph);
+                attributed.addAttribute(TextAttribute.FONT, font);
+                LineBreakMeasurer measurer = new LineBreakMeasurer(attributed.getIterator(), RENDER_CONTEXT);
+                while (measurer.getPosition() < paragraph.length()) {
+                    wrapped.add(measurer.nextLayout(wrapWidth));
+                }
+            }
+            lines = wrapped.toArray(new TextLayout[0]);
+            blankLineHeight = font.getLineMetrics(" ", RENDER_CONTEXT).getHeight();
+
+            float totalHeight = 0;
+            for (TextLayout line : lines) {
+                totalHeight += lineHeight(line);
+            }
+            // An empty text takes up no space, like an empty label
+            height = text.isEmpty() ? 0 : totalHeight;
+        }
+
+        private float lineHeight(TextLayout line) {
+            return line == null ? blankLineHeight : line.getAscent() + line.getDescent() + line.getLeading();
+        }
+
+        /**
+         * Checks whether the layout was made for a text, font and wrap width
+         *
+         * @param text - Text to check
+         * @param font - Font to check
+         * @param wrapWidth - Wrap width to check
+         * @return true if the layout can be drawn for them
+         */
+        protected boolean matches(String text, Font font, int wrapWidth) {
+            return this.wrapWidth == Math.max(1, wrapWidth) && this.font.equals(font) && this.text.equals(text);
+        }
+
+        /**
+         * Gets the text that was wrapped
+         *
+         * @return the text
+         */
+        protected String getText() {
+            return text;
+        }
+
+        /**
+         * Gets the height of all lines
+         *
+         * @return height in pixels
+         */
+        protected float getHeight() {
+            return height;
+        }
+
+        /**
+         * Draws the lines centred horizontally and vertically in an area
+         *
+         * @param g - Graphics to draw with
+         * @param bounds - Area to centre the text in
+         * @param color - Color of text
+         */
+        protected void draw(Graphics2D g, Rectangle bounds, Color color) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            g2.setColor(color);
+            float y = bounds.y + (bounds.height - height) / 2;
+            for (TextLayout line : lines) {
+                if (line != null) {
+                    float x = bounds.x + (bounds.width - line.getAdvance()) / 2;
+                    line.draw(g2, x, y + line.getAscent());
+                }
+                y += lineHeight(line);
+            }
+            g2.dispose();
+        }
+    }
+}